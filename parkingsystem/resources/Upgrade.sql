@@ -0,0 +1,31 @@
+/* Upgrading an existing PROD or TEST DB, run on each database after "use prod;" or "use test;" */
+/* Run it exactly once per database: a second run stops on the VEHICLE_KEY column that already exists, and the price conversion below is skipped anyway once PRICE is no longer a double */
+
+/* Vehicle registration number keys */
+alter table ticket add column VEHICLE_KEY bigint;
+/* databases that already have the index on (VEHICLE_KEY, IN_TIME) must drop it first: drop index TICKET_VEHICLE_KEY on ticket; */
+create index TICKET_VEHICLE_KEY on ticket(VEHICLE_KEY, ID);
+/* VEHICLE_KEY of the existing tickets is filled from VEHICLE_REG_NUMBER by the app at startup */
+
+/* Ticket prices in whole cents, only while PRICE still holds the decimal amounts */
+/* the cents are computed into PRICE_CENTS from the untouched PRICE, which is then replaced in one statement, so a run stopped halfway can be run again */
+set @price_in_decimal = (select count(*) from information_schema.columns
+ where table_schema = database() and table_name = 'ticket' and column_name = 'PRICE' and data_type = 'double');
+set @price_cents_exists = (select count(*) from information_schema.columns
+ where table_schema = database() and table_name = 'ticket' and column_name = 'PRICE_CENTS');
+
+set @statement = if(@price_in_decimal > 0 and @price_cents_exists = 0, 'alter table ticket add column PRICE_CENTS bigint', 'do 0');
+prepare upgrade_statement from @statement;
+execute upgrade_statement;
+deallocate prepare upgrade_statement;
+
+set @statement = if(@price_in_decimal > 0, 'update ticket set PRICE_CENTS = round(PRICE * 100)', 'do 0');
+prepare upgrade_statement from @statement;
+execute upgrade_statement;
+deallocate prepare upgrade_statement;
+commit;
+
+set @statement = if(@price_in_decimal > 0, 'alter table ticket drop column PRICE, change column PRICE_CENTS PRICE bigint', 'do 0');
+prepare upgrade_statement from @statement;
+execute upgrade_statement;
+deallocate prepare upgrade_statement;
@@ -4,10 +4,27 @@ import com.parkit.parkingsystem.service.InteractiveShell;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
 public class App {
     private static final Logger logger = LogManager.getLogger("App");
+    private static final String WARM_UP_ONLY_OPTION = "--warm-up-only";
+    private static final int CONSOLE_BUFFER_SIZE = 8192;
+
     public static void main(String args[]){
         logger.info("Initializing Parking System");
+        //console output is flushed by InputReaderUtil before waiting for input instead of on every line,
+        //the console log appender follows System.out so that it writes (and flushes) through the same buffer
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), CONSOLE_BUFFER_SIZE), false));
+        Runtime.getRuntime().addShutdownHook(new Thread(System.out::flush));
+        if(args.length > 0 && WARM_UP_ONLY_OPTION.equals(args[0])){
+            //used to record the class data sharing archive, see the appcds profile in pom.xml
+            InteractiveShell.warmUpOnly();
+            return;
+        }
         InteractiveShell.loadInterface();
     }
 }
@@ -9,11 +9,35 @@ public class DataBaseConfig {
 
     private static final Logger logger = LogManager.getLogger("DataBaseConfig");
 
+    private static final String URL = System.getProperty("parkingsystem.db.url",
+            "jdbc:mysql://localhost:3306/test?serverTimezone=UTC&enabledTLSProtocols=TLSv1.2");
+    private static final String USER = System.getProperty("parkingsystem.db.user", "root");
+    private static final String PASSWORD = System.getProperty("parkingsystem.db.password", "codio");
+    //no replica configured means every query goes to the primary
+    private static final String REPLICA_URL = System.getProperty("parkingsystem.db.replica.url");
+    private static final String REPLICA_USER = System.getProperty("parkingsystem.db.replica.user", USER);
+    private static final String REPLICA_PASSWORD = System.getProperty("parkingsystem.db.replica.password", PASSWORD);
+    public static final long REPLICA_MAX_LAG_MILLIS = Long.getLong("parkingsystem.db.replica.maxLagMillis", 5000);
+
     public Connection getConnection() throws ClassNotFoundException, SQLException {
         logger.info("Create DB connection");
         Class.forName("com.mysql.cj.jdbc.Driver");
-        return DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/test?serverTimezone=UTC&enabledTLSProtocols=TLSv1.2","root","codio");
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+
+    //for queries that can read data up to REPLICA_MAX_LAG_MILLIS old
+    public Connection getReadConnection() throws ClassNotFoundException, SQLException {
+        if(REPLICA_URL == null){
+            return getConnection();
+        }
+        try {
+            logger.info("Create replica DB connection");
+            Class.forName("com.mysql.cj.jdbc.Driver");
+            return DriverManager.getConnection(REPLICA_URL, REPLICA_USER, REPLICA_PASSWORD);
+        }catch (SQLException e){
+            logger.error("Replica unavailable, reading from primary",e);
+            return getConnection();
+        }
     }
 
     public void closeConnection(Connection con){
@@ -2,10 +2,19 @@ package com.parkit.parkingsystem.constants;
 
 public class DBConstants {
 
+    public static final String GET_PARKING_SPOTS = "select PARKING_NUMBER, AVAILABLE, TYPE from parking";
     public static final String GET_NEXT_PARKING_SPOT = "select min(PARKING_NUMBER) from parking where AVAILABLE = true and TYPE = ?";
+    public static final String COUNT_PARKING_SPOTS = "select count(*) from parking where TYPE = ?";
+    public static final String COUNT_OCCUPIED_PARKING_SPOTS = "select count(*) from parking where AVAILABLE = false and TYPE = ?";
     public static final String UPDATE_PARKING_SPOT = "update parking set available = ? where PARKING_NUMBER = ?";
+    public static final String ALLOCATE_PARKING_SPOT = "update parking set available = false where PARKING_NUMBER = ? and AVAILABLE = true";
 
-    public static final String SAVE_TICKET = "insert into ticket(PARKING_NUMBER, VEHICLE_REG_NUMBER, PRICE, IN_TIME, OUT_TIME) values(?,?,?,?,?)";
+    public static final String SAVE_TICKET = "insert into ticket(PARKING_NUMBER, VEHICLE_REG_NUMBER, VEHICLE_KEY, PRICE, IN_TIME, OUT_TIME) values(?,?,?,?,?,?)";
     public static final String UPDATE_TICKET = "update ticket set PRICE=?, OUT_TIME=? where ID=?";
-    public static final String GET_TICKET = "select t.PARKING_NUMBER, t.ID, t.PRICE, t.IN_TIME, t.OUT_TIME, p.TYPE from ticket t,parking p where p.parking_number = t.parking_number and t.VEHICLE_REG_NUMBER=? order by t.IN_TIME  limit 1";
+    public static final String GET_OPEN_TICKETS = "select t.PARKING_NUMBER, t.ID, t.PRICE, t.IN_TIME, t.OUT_TIME, p.TYPE, t.VEHICLE_KEY from ticket t,parking p where p.parking_number = t.parking_number and t.OUT_TIME is null";
+    public static final String GET_TICKET_PRICES = "select t.PRICE, p.TYPE from ticket t,parking p where p.parking_number = t.parking_number and t.OUT_TIME >= ? and t.OUT_TIME < ?";
+    public static final String GET_TICKETS_WITHOUT_VEHICLE_KEY = "select ID, VEHICLE_REG_NUMBER from ticket where VEHICLE_KEY is null";
+    public static final String UPDATE_TICKET_VEHICLE_KEY = "update ticket set VEHICLE_KEY=? where ID=?";
+    public static final String GET_TICKET = "select t.PARKING_NUMBER, t.ID, t.PRICE, t.IN_TIME, t.OUT_TIME, p.TYPE from ticket t,parking p where p.parking_number = t.parking_number and t.VEHICLE_KEY=? order by t.ID desc limit 1";
+    public static final String GET_OPEN_TICKET = "select t.PARKING_NUMBER, t.ID, t.PRICE, t.IN_TIME, t.OUT_TIME, p.TYPE from ticket t,parking p where p.parking_number = t.parking_number and t.VEHICLE_KEY=? and t.OUT_TIME is null order by t.ID desc limit 1";
 }
@@ -1,6 +1,9 @@
 package com.parkit.parkingsystem.constants;
 
 public class Fare {
-    public static final double BIKE_RATE_PER_HOUR = 1.0;
-    public static final double CAR_RATE_PER_HOUR = 1.5;
+    //rates per hour of each parking type are in parkingtypes.properties
+    public static final double SURGE_OCCUPANCY_THRESHOLD = 0.8;
+    public static final int SURGE_RATE_PERCENT = 125;
+    public static final double DISCOUNT_OCCUPANCY_THRESHOLD = 0.3;
+    public static final int DISCOUNT_RATE_PERCENT = 90;
 }
@@ -1,6 +1,116 @@
 package com.parkit.parkingsystem.constants;
 
-public enum ParkingType {
-    CAR,
-    BIKE
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+public final class ParkingType {
+
+    private static final String CONFIGURATION_FILE = "/parkingtypes.properties";
+    private static final String CONFIGURATION_FILE_PROPERTY = "parkingsystem.types.file";
+    //same as the TYPE column size
+    private static final int MAX_NAME_LENGTH = 10;
+    //type ordinals are stored as a byte in snapshots and revenue arrays
+    private static final int MAX_TYPES = Byte.MAX_VALUE;
+
+    private static final ParkingType[] TYPES;
+    private static final Map<String, ParkingType> TYPES_BY_NAME = new HashMap<>();
+
+    static {
+        TYPES = load(loadConfiguration());
+        for(ParkingType parkingType : TYPES){
+            TYPES_BY_NAME.put(parkingType.name, parkingType);
+        }
+    }
+
+    public static final ParkingType CAR = valueOf("CAR");
+    public static final ParkingType BIKE = valueOf("BIKE");
+
+    private final int ordinal;
+    private final String name;
+    private final String label;
+    private final long ratePerHour;
+
+    private ParkingType(int ordinal, String name, String label, long ratePerHour) {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.label = label;
+        this.ratePerHour = ratePerHour;
+    }
+
+    public int ordinal() {
+        return ordinal;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    //in cents
+    public long getRatePerHour() {
+        return ratePerHour;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static ParkingType[] values() {
+        return TYPES.clone();
+    }
+
+    public static int count() {
+        return TYPES.length;
+    }
+
+    public static ParkingType valueOf(String name) {
+        ParkingType parkingType = TYPES_BY_NAME.get(name);
+        if(parkingType == null){
+            throw new IllegalArgumentException("Unknown parking type:" + name);
+        }
+        return parkingType;
+    }
+
+    private static Properties loadConfiguration() {
+        Properties properties = new Properties();
+        String file = System.getProperty(CONFIGURATION_FILE_PROPERTY);
+        try (InputStream in = (file != null) ? Files.newInputStream(Paths.get(file)) : ParkingType.class.getResourceAsStream(CONFIGURATION_FILE)) {
+            if(in == null){
+                throw new IllegalStateException("Missing parking types configuration " + CONFIGURATION_FILE);
+            }
+            properties.load(in);
+        }catch(IOException e){
+            throw new IllegalStateException("Unable to read parking types configuration", e);
+        }
+        return properties;
+    }
+
+    private static ParkingType[] load(Properties properties) {
+        String[] names = properties.getProperty("types", "").split(",");
+        if(names.length > MAX_TYPES){
+            throw new IllegalStateException("Too many parking types, at most " + MAX_TYPES + " are supported");
+        }
+        ParkingType[] parkingTypes = new ParkingType[names.length];
+        for(int i = 0; i < names.length; i++){
+            String name = names[i].trim();
+            if(name.isEmpty() || name.length() > MAX_NAME_LENGTH){
+                throw new IllegalStateException("Invalid parking type name:" + name);
+            }
+            String rate = properties.getProperty(name + ".ratePerHour");
+            if(rate == null){
+                throw new IllegalStateException("Missing rate for parking type " + name);
+            }
+            parkingTypes[i] = new ParkingType(i, name, properties.getProperty(name + ".label", name), Long.parseLong(rate.trim()));
+        }
+        return parkingTypes;
+    }
 }
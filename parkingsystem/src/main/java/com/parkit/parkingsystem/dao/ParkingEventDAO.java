@@ -0,0 +1,213 @@
+package com.parkit.parkingsystem.dao;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public class ParkingEventDAO {
+
+    private static final Logger logger = LogManager.getLogger("ParkingEventDAO");
+
+    private static final String EVENT_LOG_FILE = "events.log";
+    private static final String CORRUPT_EVENT_LOG_FILE = "events.log.corrupt";
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private static final int EVENT_LOG_MAGIC = 0x5053454C;
+    private static final int EVENT_LOG_VERSION = 1;
+    private static final int EVENT_LOG_HEADER_LENGTH = 8;
+    //record length and checksum around each event
+    private static final int RECORD_OVERHEAD = 8;
+    private static final int MAX_RECORD_LENGTH = 1024;
+
+    private Path stateDirectory;
+    private DataOutputStream eventLog;
+    private ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(64);
+    private DataOutputStream record = new DataOutputStream(recordBuffer);
+
+    public ParkingEventDAO(String stateDirectory){
+        this.stateDirectory = Paths.get(stateDirectory);
+    }
+
+    public synchronized boolean appendEvent(ParkingEvent event){
+        try {
+            if(eventLog == null){
+                openEventLog();
+            }
+            //length, payload and checksum, so that a record cut short by a crash is detected and cut off
+            recordBuffer.reset();
+            record.writeLong(event.getSequence());
+            record.writeByte(event.getKind().ordinal());
+            record.writeInt(event.getParkingNumber());
+            record.writeUTF(event.getParkingType().name());
+            record.writeLong(event.getVehicleKey());
+            record.writeLong(event.getTimeMillis());
+            record.writeLong(event.getPrice());
+            CRC32 checksum = new CRC32();
+            checksum.update(recordBuffer.toByteArray());
+            eventLog.writeInt(recordBuffer.size());
+            recordBuffer.writeTo(eventLog);
+            eventLog.writeInt((int) checksum.getValue());
+            eventLog.flush();
+            return true;
+        }catch (IOException ex){
+            logger.error("Error appending parking event",ex);
+            //the record may be partly written, reopening the log cuts it off
+            closeEventLog();
+            return false;
+        }
+    }
+
+    public List<ParkingEvent> getEvents(long afterSequence){
+        List<ParkingEvent> events = new ArrayList<>();
+        Path eventLogFile = stateDirectory.resolve(EVENT_LOG_FILE);
+        if(Files.exists(eventLogFile)){
+            readEvents(eventLogFile, afterSequence, events);
+        }
+        return events;
+    }
+
+    private void openEventLog() throws IOException {
+        Files.createDirectories(stateDirectory);
+        Path eventLogFile = stateDirectory.resolve(EVENT_LOG_FILE);
+        if(Files.exists(eventLogFile)){
+            long validLength = readEvents(eventLogFile, Long.MAX_VALUE, null);
+            if(validLength < 0){
+                logger.error("Unknown parking event log format, moved to " + CORRUPT_EVENT_LOG_FILE);
+                Files.move(eventLogFile, stateDirectory.resolve(CORRUPT_EVENT_LOG_FILE), StandardCopyOption.REPLACE_EXISTING);
+            }else if(validLength < Files.size(eventLogFile)){
+                //new events must follow the last complete record, not the torn one
+                Files.copy(eventLogFile, stateDirectory.resolve(CORRUPT_EVENT_LOG_FILE), StandardCopyOption.REPLACE_EXISTING);
+                try (FileChannel channel = FileChannel.open(eventLogFile, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                }
+            }
+        }
+        boolean newLog = !Files.exists(eventLogFile) || Files.size(eventLogFile) == 0;
+        eventLog = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                eventLogFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if(newLog){
+            eventLog.writeInt(EVENT_LOG_MAGIC);
+            eventLog.writeInt(EVENT_LOG_VERSION);
+        }
+    }
+
+    private void closeEventLog(){
+        if(eventLog != null){
+            try {
+                eventLog.close();
+            }catch (IOException ex){
+                logger.error("Error closing parking event log",ex);
+            }
+            eventLog = null;
+        }
+    }
+
+    //length of the log up to the end of its last complete record, or -1 when the header is not an event log header
+    private long readEvents(Path eventLogFile, long afterSequence, List<ParkingEvent> events){
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(eventLogFile)))) {
+            long fileLength = Files.size(eventLogFile);
+            if(fileLength < EVENT_LOG_HEADER_LENGTH){
+                //header cut short, the log is started again
+                return 0;
+            }
+            if(in.readInt() != EVENT_LOG_MAGIC || in.readInt() != EVENT_LOG_VERSION){
+                return -1;
+            }
+            validLength = EVENT_LOG_HEADER_LENGTH;
+            while(validLength < fileLength){
+                ParkingEvent event = null;
+                int length = (fileLength - validLength < RECORD_OVERHEAD) ? -1 : in.readInt();
+                if(length > 0 && length <= MAX_RECORD_LENGTH && validLength + RECORD_OVERHEAD + length <= fileLength){
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    CRC32 checksum = new CRC32();
+                    checksum.update(payload);
+                    if(in.readInt() == (int) checksum.getValue()){
+                        event = decodeEvent(payload);
+                    }
+                }
+                if(event == null){
+                    logger.error("Ignoring " + (fileLength - validLength) + " bytes of incomplete or corrupt parking events");
+                    break;
+                }
+                if(events != null && event.getSequence() > afterSequence){
+                    events.add(event);
+                }
+                validLength += RECORD_OVERHEAD + length;
+            }
+        }catch (IOException ex){
+            logger.error("Error reading parking events",ex);
+        }
+        return validLength;
+    }
+
+    private static ParkingEvent decodeEvent(byte[] payload){
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            long sequence = in.readLong();
+            ParkingEvent.Kind kind = ParkingEvent.Kind.values()[in.readByte()];
+            int parkingNumber = in.readInt();
+            ParkingType parkingType = ParkingType.valueOf(in.readUTF());
+            ParkingEvent event = new ParkingEvent(kind, parkingNumber, parkingType, in.readLong(), in.readLong(), in.readLong());
+            event.setSequence(sequence);
+            return event;
+        }catch (IOException | RuntimeException ex){
+            //a checksummed record that does not decode, e.g. a parking type removed from the configuration
+            logger.error("Error decoding parking event",ex);
+            return null;
+        }
+    }
+
+    public ParkingLotState getSnapshot(){
+        Path snapshotFile = stateDirectory.resolve(SNAPSHOT_FILE);
+        if(!Files.exists(snapshotFile)){
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            return ParkingLotState.readSnapshot(in);
+        }catch (Exception ex){
+            logger.error("Error reading parking lot snapshot",ex);
+            return null;
+        }
+    }
+
+    public synchronized boolean saveSnapshot(ParkingLotState state){
+        try {
+            Files.createDirectories(stateDirectory);
+            Path temporaryFile = stateDirectory.resolve(SNAPSHOT_FILE + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                state.writeSnapshot(out);
+            }
+            Files.move(temporaryFile, stateDirectory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            //events up to the snapshot are not needed anymore, the log only keeps the tail
+            closeEventLog();
+            Files.deleteIfExists(stateDirectory.resolve(EVENT_LOG_FILE));
+            return true;
+        }catch (IOException ex){
+            logger.error("Error saving parking lot snapshot",ex);
+            return false;
+        }
+    }
+}
@@ -10,12 +10,36 @@ import org.apache.logging.log4j.Logger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ParkingSpotDAO {
     private static final Logger logger = LogManager.getLogger("ParkingSpotDAO");
 
     public DataBaseConfig dataBaseConfig = new DataBaseConfig();
 
+    public List<ParkingSpot> getParkingSpots(){
+        Connection con = null;
+        List<ParkingSpot> parkingSpots = new ArrayList<>();
+        try {
+            con = dataBaseConfig.getConnection();
+            PreparedStatement ps = con.prepareStatement(DBConstants.GET_PARKING_SPOTS);
+            ResultSet rs = ps.executeQuery();
+            while(rs.next()){
+                parkingSpots.add(new ParkingSpot(rs.getInt(1), ParkingType.valueOf(rs.getString(3)), rs.getBoolean(2)));
+            }
+            dataBaseConfig.closeResultSet(rs);
+            dataBaseConfig.closePreparedStatement(ps);
+        }catch (Exception ex){
+            //a partial list would be taken for the whole parking lot
+            parkingSpots.clear();
+            logger.error("Error fetching parking slots",ex);
+        }finally {
+            dataBaseConfig.closeConnection(con);
+        }
+        return parkingSpots;
+    }
+
     public int getNextAvailableSlot(ParkingType parkingType){
         Connection con = null;
         int result=-1;
@@ -37,6 +61,55 @@ public class ParkingSpotDAO {
         return result;
     }
 
+    public int getParkingSpotCount(ParkingType parkingType){
+        return count(DBConstants.COUNT_PARKING_SPOTS, parkingType);
+    }
+
+    public int getOccupiedParkingSpotCount(ParkingType parkingType){
+        return count(DBConstants.COUNT_OCCUPIED_PARKING_SPOTS, parkingType);
+    }
+
+    private int count(String query, ParkingType parkingType){
+        //occupancy figures, a replica slightly behind is fine
+        Connection con = null;
+        int result=-1;
+        try {
+            con = dataBaseConfig.getReadConnection();
+            PreparedStatement ps = con.prepareStatement(query);
+            ps.setString(1, parkingType.toString());
+            ResultSet rs = ps.executeQuery();
+            if(rs.next()){
+                result = rs.getInt(1);
+            }
+            dataBaseConfig.closeResultSet(rs);
+            dataBaseConfig.closePreparedStatement(ps);
+        }catch (Exception ex){
+            logger.error("Error counting parking slots",ex);
+        }finally {
+            dataBaseConfig.closeConnection(con);
+        }
+        return result;
+    }
+
+    //returns 1 when the spot is allocated, 0 when it was already taken, -1 on error
+    public int allocateParking(ParkingSpot parkingSpot){
+        //only succeeds if the spot is still free, so two gates can never be given the same spot
+        Connection con = null;
+        try {
+            con = dataBaseConfig.getConnection();
+            PreparedStatement ps = con.prepareStatement(DBConstants.ALLOCATE_PARKING_SPOT);
+            ps.setInt(1, parkingSpot.getId());
+            int updateRowCount = ps.executeUpdate();
+            dataBaseConfig.closePreparedStatement(ps);
+            return updateRowCount;
+        }catch (Exception ex){
+            logger.error("Error allocating parking spot",ex);
+            return -1;
+        }finally {
+            dataBaseConfig.closeConnection(con);
+        }
+    }
+
     public boolean updateParking(ParkingSpot parkingSpot){
         //update the availability fo that parking slot
         Connection con = null;
@@ -5,6 +5,8 @@ import com.parkit.parkingsystem.constants.DBConstants;
 import com.parkit.parkingsystem.constants.ParkingType;
 import com.parkit.parkingsystem.model.ParkingSpot;
 import com.parkit.parkingsystem.model.Ticket;
+import com.parkit.parkingsystem.model.TicketPrices;
+import com.parkit.parkingsystem.util.RegistrationNumberUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -12,26 +14,40 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TicketDAO {
 
     private static final Logger logger = LogManager.getLogger("TicketDAO");
 
+    private static final int RECENT_WRITES_PURGE_SIZE = 10000;
+
     public DataBaseConfig dataBaseConfig = new DataBaseConfig();
 
+    public long replicaMaxLagMillis = DataBaseConfig.REPLICA_MAX_LAG_MILLIS;
+
+    //last write time per vehicle key, a vehicle written less than the replica lag ago reads its ticket from the primary
+    private final Map<Long, Long> recentWrites = new ConcurrentHashMap<>();
+
     public boolean saveTicket(Ticket ticket){
         Connection con = null;
         try {
             con = dataBaseConfig.getConnection();
             PreparedStatement ps = con.prepareStatement(DBConstants.SAVE_TICKET);
-            //ID, PARKING_NUMBER, VEHICLE_REG_NUMBER, PRICE, IN_TIME, OUT_TIME)
+            //ID, PARKING_NUMBER, VEHICLE_REG_NUMBER, VEHICLE_KEY, PRICE, IN_TIME, OUT_TIME)
             //ps.setInt(1,ticket.getId());
             ps.setInt(1,ticket.getParkingSpot().getId());
-            ps.setString(2, ticket.getVehicleRegNumber());
-            ps.setDouble(3, ticket.getPrice());
-            ps.setTimestamp(4, new Timestamp(ticket.getInTime().getTime()));
-            ps.setTimestamp(5, (ticket.getOutTime() == null)?null: (new Timestamp(ticket.getOutTime().getTime())) );
-            return ps.execute();
+            ps.setString(2, RegistrationNumberUtil.normalize(ticket.getVehicleRegNumber()));
+            long vehicleKey = RegistrationNumberUtil.toKey(ticket.getVehicleRegNumber());
+            ps.setLong(3, vehicleKey);
+            ps.setLong(4, ticket.getPrice());
+            ps.setTimestamp(5, new Timestamp(ticket.getInTime().getTime()));
+            ps.setTimestamp(6, (ticket.getOutTime() == null)?null: (new Timestamp(ticket.getOutTime().getTime())) );
+            ps.execute();
+            wrote(vehicleKey);
         }catch (Exception ex){
             logger.error("Error fetching next available slot",ex);
         }finally {
@@ -41,21 +57,38 @@ public class TicketDAO {
     }
 
     public Ticket getTicket(String vehicleRegNumber) {
+        return getTicket(RegistrationNumberUtil.toKey(vehicleRegNumber));
+    }
+
+    public Ticket getTicket(long vehicleKey) {
+        return getTicket(vehicleKey, DBConstants.GET_TICKET, readYourWrites(vehicleKey));
+    }
+
+    public Ticket getTicketForUpdate(String vehicleRegNumber) {
+        return getTicketForUpdate(RegistrationNumberUtil.toKey(vehicleRegNumber));
+    }
+
+    //the open ticket about to be closed, never read from a replica that may not have it yet or still have it open
+    public Ticket getTicketForUpdate(long vehicleKey) {
+        return getTicket(vehicleKey, DBConstants.GET_OPEN_TICKET, true);
+    }
+
+    private Ticket getTicket(long vehicleKey, String query, boolean fromPrimary) {
         Connection con = null;
         Ticket ticket = null;
         try {
-            con = dataBaseConfig.getConnection();
-            PreparedStatement ps = con.prepareStatement(DBConstants.GET_TICKET);
+            con = fromPrimary ? dataBaseConfig.getConnection() : dataBaseConfig.getReadConnection();
+            PreparedStatement ps = con.prepareStatement(query);
             //ID, PARKING_NUMBER, VEHICLE_REG_NUMBER, PRICE, IN_TIME, OUT_TIME)
-            ps.setString(1,vehicleRegNumber);
+            ps.setLong(1,vehicleKey);
             ResultSet rs = ps.executeQuery();
             if(rs.next()){
                 ticket = new Ticket();
                 ParkingSpot parkingSpot = new ParkingSpot(rs.getInt(1), ParkingType.valueOf(rs.getString(6)),false);
                 ticket.setParkingSpot(parkingSpot);
                 ticket.setId(rs.getInt(2));
-                ticket.setVehicleRegNumber(vehicleRegNumber);
-                ticket.setPrice(rs.getDouble(3));
+                ticket.setVehicleRegNumber(RegistrationNumberUtil.fromKey(vehicleKey));
+                ticket.setPrice(rs.getLong(3));
                 ticket.setInTime(rs.getTimestamp(4));
                 ticket.setOutTime(rs.getTimestamp(5));
             }
@@ -69,15 +102,102 @@ public class TicketDAO {
         }
     }
 
+    public List<Ticket> getOpenTickets() {
+        Connection con = null;
+        List<Ticket> tickets = new ArrayList<>();
+        try {
+            con = dataBaseConfig.getConnection();
+            PreparedStatement ps = con.prepareStatement(DBConstants.GET_OPEN_TICKETS);
+            ResultSet rs = ps.executeQuery();
+            while(rs.next()){
+                Ticket ticket = new Ticket();
+                ParkingSpot parkingSpot = new ParkingSpot(rs.getInt(1), ParkingType.valueOf(rs.getString(6)),false);
+                ticket.setParkingSpot(parkingSpot);
+                ticket.setId(rs.getInt(2));
+                ticket.setVehicleRegNumber(RegistrationNumberUtil.fromKey(rs.getLong(7)));
+                ticket.setPrice(rs.getLong(3));
+                ticket.setInTime(rs.getTimestamp(4));
+                ticket.setOutTime(rs.getTimestamp(5));
+                tickets.add(ticket);
+            }
+            dataBaseConfig.closeResultSet(rs);
+            dataBaseConfig.closePreparedStatement(ps);
+        }catch (Exception ex){
+            logger.error("Error fetching open tickets",ex);
+        }finally {
+            dataBaseConfig.closeConnection(con);
+        }
+        return tickets;
+    }
+
+    public TicketPrices getTicketPrices(Timestamp outTimeFrom, Timestamp outTimeTo) {
+        Connection con = null;
+        TicketPrices ticketPrices = new TicketPrices();
+        try {
+            //reporting, a replica slightly behind is fine
+            con = dataBaseConfig.getReadConnection();
+            PreparedStatement ps = con.prepareStatement(DBConstants.GET_TICKET_PRICES);
+            ps.setTimestamp(1, outTimeFrom);
+            ps.setTimestamp(2, outTimeTo);
+            ResultSet rs = ps.executeQuery();
+            while(rs.next()){
+                ticketPrices.add(rs.getLong(1), ParkingType.valueOf(rs.getString(2)));
+            }
+            dataBaseConfig.closeResultSet(rs);
+            dataBaseConfig.closePreparedStatement(ps);
+        }catch (Exception ex){
+            logger.error("Error fetching ticket prices",ex);
+        }finally {
+            dataBaseConfig.closeConnection(con);
+        }
+        return ticketPrices;
+    }
+
+    //tickets written before the VEHICLE_KEY column existed get their key from the stored plate
+    public int backfillVehicleKeys() {
+        Connection con = null;
+        int updated = 0;
+        try {
+            con = dataBaseConfig.getConnection();
+            PreparedStatement ps = con.prepareStatement(DBConstants.GET_TICKETS_WITHOUT_VEHICLE_KEY);
+            PreparedStatement update = con.prepareStatement(DBConstants.UPDATE_TICKET_VEHICLE_KEY);
+            ResultSet rs = ps.executeQuery();
+            while(rs.next()){
+                try {
+                    update.setLong(1, RegistrationNumberUtil.toKey(rs.getString(2)));
+                }catch (IllegalArgumentException ex){
+                    logger.error("Ticket " + rs.getInt(1) + " has an invalid vehicle registration number, no key set",ex);
+                    continue;
+                }
+                update.setInt(2, rs.getInt(1));
+                update.addBatch();
+                updated++;
+            }
+            if(updated > 0){
+                update.executeBatch();
+            }
+            dataBaseConfig.closeResultSet(rs);
+            dataBaseConfig.closePreparedStatement(ps);
+            dataBaseConfig.closePreparedStatement(update);
+        }catch (Exception ex){
+            logger.error("Error setting vehicle keys of existing tickets",ex);
+            return -1;
+        }finally {
+            dataBaseConfig.closeConnection(con);
+        }
+        return updated;
+    }
+
     public boolean updateTicket(Ticket ticket) {
         Connection con = null;
         try {
             con = dataBaseConfig.getConnection();
             PreparedStatement ps = con.prepareStatement(DBConstants.UPDATE_TICKET);
-            ps.setDouble(1, ticket.getPrice());
+            ps.setLong(1, ticket.getPrice());
             ps.setTimestamp(2, new Timestamp(ticket.getOutTime().getTime()));
             ps.setInt(3,ticket.getId());
             ps.execute();
+            wrote(RegistrationNumberUtil.toKey(ticket.getVehicleRegNumber()));
             return true;
         }catch (Exception ex){
             logger.error("Error saving ticket info",ex);
@@ -86,4 +206,24 @@ public class TicketDAO {
         }
         return false;
     }
+
+    private void wrote(long vehicleKey){
+        long now = System.currentTimeMillis();
+        recentWrites.put(vehicleKey, now);
+        if(recentWrites.size() > RECENT_WRITES_PURGE_SIZE){
+            recentWrites.values().removeIf(writeMillis -> now - writeMillis > replicaMaxLagMillis);
+        }
+    }
+
+    private boolean readYourWrites(long vehicleKey){
+        Long writeMillis = recentWrites.get(vehicleKey);
+        if(writeMillis == null){
+            return false;
+        }
+        if(System.currentTimeMillis() - writeMillis <= replicaMaxLagMillis){
+            return true;
+        }
+        recentWrites.remove(vehicleKey, writeMillis);
+        return false;
+    }
 }
@@ -0,0 +1,51 @@
+package com.parkit.parkingsystem.model;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+public class ParkingAlert {
+
+    public enum Kind {
+        OVERSTAY,
+        ABANDONED
+    }
+
+    private Kind kind;
+    private int parkingNumber;
+    private ParkingType parkingType;
+    private String vehicleRegNumber;
+    private long inTimeMillis;
+    private long alertTimeMillis;
+
+    public ParkingAlert(Kind kind, int parkingNumber, ParkingType parkingType, String vehicleRegNumber, long inTimeMillis, long alertTimeMillis) {
+        this.kind = kind;
+        this.parkingNumber = parkingNumber;
+        this.parkingType = parkingType;
+        this.vehicleRegNumber = vehicleRegNumber;
+        this.inTimeMillis = inTimeMillis;
+        this.alertTimeMillis = alertTimeMillis;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getParkingNumber() {
+        return parkingNumber;
+    }
+
+    public ParkingType getParkingType() {
+        return parkingType;
+    }
+
+    public String getVehicleRegNumber() {
+        return vehicleRegNumber;
+    }
+
+    public long getInTimeMillis() {
+        return inTimeMillis;
+    }
+
+    public long getAlertTimeMillis() {
+        return alertTimeMillis;
+    }
+}
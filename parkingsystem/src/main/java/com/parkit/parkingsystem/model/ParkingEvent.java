@@ -0,0 +1,61 @@
+package com.parkit.parkingsystem.model;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+public class ParkingEvent {
+
+    public enum Kind {
+        VEHICLE_ENTERED,
+        VEHICLE_EXITED,
+        SPOT_FREED
+    }
+
+    private long sequence;
+    private Kind kind;
+    private int parkingNumber;
+    private ParkingType parkingType;
+    private long vehicleKey;
+    private long timeMillis;
+    private long price;
+
+    public ParkingEvent(Kind kind, int parkingNumber, ParkingType parkingType, long vehicleKey, long timeMillis, long price) {
+        this.kind = kind;
+        this.parkingNumber = parkingNumber;
+        this.parkingType = parkingType;
+        this.vehicleKey = vehicleKey;
+        this.timeMillis = timeMillis;
+        this.price = price;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getParkingNumber() {
+        return parkingNumber;
+    }
+
+    public ParkingType getParkingType() {
+        return parkingType;
+    }
+
+    public long getVehicleKey() {
+        return vehicleKey;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getPrice() {
+        return price;
+    }
+}
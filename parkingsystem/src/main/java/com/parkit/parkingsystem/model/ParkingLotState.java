@@ -0,0 +1,209 @@
+package com.parkit.parkingsystem.model;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ParkingLotState {
+
+    public interface SpotVisitor {
+        void visit(int parkingNumber, ParkingType parkingType, long vehicleKey, long inTimeMillis, long lastFreedMillis);
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x50534E50;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    //one slot per parking spot, a vehicle key of 0 means the spot is free
+    private final Map<Integer, Integer> indexByNumber = new HashMap<>();
+    private int[] numbers = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] vehicleKeys = new long[INITIAL_CAPACITY];
+    private long[] inTimes = new long[INITIAL_CAPACITY];
+    private long[] lastFreedTimes = new long[INITIAL_CAPACITY];
+    private int size;
+
+    //sequence of the last event applied to this state
+    private long lastSequence;
+
+    public synchronized void addSpot(int number, ParkingType parkingType){
+        Integer index = indexByNumber.get(number);
+        if(index == null){
+            if(size == numbers.length){
+                grow();
+            }
+            index = size++;
+            indexByNumber.put(number, index);
+            numbers[index] = number;
+        }
+        types[index] = (byte) parkingType.ordinal();
+    }
+
+    //the parking table decides which spots exist and their type, the state only who is parked on them
+    public synchronized boolean reconcile(List<ParkingSpot> parkingSpots){
+        boolean changed = false;
+        Set<Integer> tableNumbers = new HashSet<>();
+        for(ParkingSpot parkingSpot : parkingSpots){
+            Integer index = indexByNumber.get(parkingSpot.getId());
+            if(index == null || types[index] != parkingSpot.getParkingType().ordinal()){
+                addSpot(parkingSpot.getId(), parkingSpot.getParkingType());
+                changed = true;
+            }
+            tableNumbers.add(parkingSpot.getId());
+        }
+        for(int i = size - 1; i >= 0; i--){
+            if(!tableNumbers.contains(numbers[i])){
+                removeSpot(i);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public synchronized void apply(ParkingEvent event){
+        if(!indexByNumber.containsKey(event.getParkingNumber())){
+            addSpot(event.getParkingNumber(), event.getParkingType());
+        }
+        int index = indexByNumber.get(event.getParkingNumber());
+        switch(event.getKind()){
+            case VEHICLE_ENTERED: {
+                vehicleKeys[index] = event.getVehicleKey();
+                inTimes[index] = event.getTimeMillis();
+                break;
+            }
+            case VEHICLE_EXITED: {
+                //the spot stays taken until the SPOT_FREED event, only the ticket is closed
+                break;
+            }
+            case SPOT_FREED: {
+                vehicleKeys[index] = 0;
+                inTimes[index] = 0;
+                lastFreedTimes[index] = event.getTimeMillis();
+                break;
+            }
+        }
+        lastSequence = Math.max(lastSequence, event.getSequence());
+    }
+
+    public synchronized int getSpotCount(ParkingType parkingType){
+        int count = 0;
+        for(int i = 0; i < size; i++){
+            if(types[i] == parkingType.ordinal()){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int getOccupiedCount(ParkingType parkingType){
+        int count = 0;
+        for(int i = 0; i < size; i++){
+            if(types[i] == parkingType.ordinal() && vehicleKeys[i] != 0){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized long getVehicleKey(int number){
+        Integer index = indexByNumber.get(number);
+        return (index == null) ? 0 : vehicleKeys[index];
+    }
+
+    public synchronized long getInTime(int number){
+        Integer index = indexByNumber.get(number);
+        return (index == null) ? 0 : inTimes[index];
+    }
+
+    public synchronized void forEachSpot(SpotVisitor visitor){
+        ParkingType[] parkingTypes = ParkingType.values();
+        for(int i = 0; i < size; i++){
+            visitor.visit(numbers[i], parkingTypes[types[i]], vehicleKeys[i], inTimes[i], lastFreedTimes[i]);
+        }
+    }
+
+    public synchronized int size(){
+        return size;
+    }
+
+    public synchronized long getLastSequence(){
+        return lastSequence;
+    }
+
+    public synchronized void setLastSequence(long lastSequence){
+        this.lastSequence = lastSequence;
+    }
+
+    public synchronized void writeSnapshot(DataOutput out) throws IOException {
+        ParkingType[] parkingTypes = ParkingType.values();
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeLong(lastSequence);
+        //type names are written once so that the per spot type index survives a change of type order
+        out.writeShort(parkingTypes.length);
+        for(ParkingType parkingType : parkingTypes){
+            out.writeUTF(parkingType.name());
+        }
+        out.writeInt(size);
+        for(int i = 0; i < size; i++){
+            out.writeInt(numbers[i]);
+            out.writeByte(types[i]);
+            out.writeLong(vehicleKeys[i]);
+            out.writeLong(inTimes[i]);
+            out.writeLong(lastFreedTimes[i]);
+        }
+    }
+
+    public static ParkingLotState readSnapshot(DataInput in) throws IOException {
+        if(in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION){
+            throw new IOException("Unsupported parking lot snapshot");
+        }
+        ParkingLotState state = new ParkingLotState();
+        state.lastSequence = in.readLong();
+        ParkingType[] parkingTypes = new ParkingType[in.readShort()];
+        for(int i = 0; i < parkingTypes.length; i++){
+            parkingTypes[i] = ParkingType.valueOf(in.readUTF());
+        }
+        int spotCount = in.readInt();
+        for(int i = 0; i < spotCount; i++){
+            int number = in.readInt();
+            state.addSpot(number, parkingTypes[in.readByte()]);
+            int index = state.indexByNumber.get(number);
+            state.vehicleKeys[index] = in.readLong();
+            state.inTimes[index] = in.readLong();
+            state.lastFreedTimes[index] = in.readLong();
+        }
+        return state;
+    }
+
+    private void removeSpot(int index){
+        //the last spot takes the place of the removed one
+        int last = --size;
+        indexByNumber.remove(numbers[index]);
+        if(index != last){
+            numbers[index] = numbers[last];
+            types[index] = types[last];
+            vehicleKeys[index] = vehicleKeys[last];
+            inTimes[index] = inTimes[last];
+            lastFreedTimes[index] = lastFreedTimes[last];
+            indexByNumber.put(numbers[index], index);
+        }
+    }
+
+    private void grow(){
+        int capacity = numbers.length * 2;
+        numbers = Arrays.copyOf(numbers, capacity);
+        types = Arrays.copyOf(types, capacity);
+        vehicleKeys = Arrays.copyOf(vehicleKeys, capacity);
+        inTimes = Arrays.copyOf(inTimes, capacity);
+        lastFreedTimes = Arrays.copyOf(lastFreedTimes, capacity);
+    }
+}
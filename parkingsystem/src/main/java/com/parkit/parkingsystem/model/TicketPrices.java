@@ -0,0 +1,38 @@
+package com.parkit.parkingsystem.model;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+import java.util.Arrays;
+
+public class TicketPrices {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    //one contiguous primitive array per parking type ordinal, prices are partitioned by type as they are added
+    private long[][] prices = new long[ParkingType.count()][INITIAL_CAPACITY];
+    private int[] sizes = new int[ParkingType.count()];
+
+    public void add(long price, ParkingType parkingType){
+        int type = parkingType.ordinal();
+        if(sizes[type] == prices[type].length){
+            prices[type] = Arrays.copyOf(prices[type], sizes[type] * 2);
+        }
+        prices[type][sizes[type]++] = price;
+    }
+
+    public long[] getPrices(ParkingType parkingType) {
+        return prices[parkingType.ordinal()];
+    }
+
+    public int size(ParkingType parkingType) {
+        return sizes[parkingType.ordinal()];
+    }
+
+    public int size() {
+        int size = 0;
+        for(int typeSize : sizes){
+            size += typeSize;
+        }
+        return size;
+    }
+}
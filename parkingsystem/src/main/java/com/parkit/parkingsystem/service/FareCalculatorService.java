@@ -5,27 +5,40 @@ import com.parkit.parkingsystem.model.Ticket;
 
 public class FareCalculatorService {
 
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000;
+
     public void calculateFare(Ticket ticket){
+        calculateFare(ticket, -1);
+    }
+
+    //occupancyRate is the time-weighted occupancy of the ticket's parking type during the stay, negative when unknown
+    public void calculateFare(Ticket ticket, double occupancyRate){
         if( (ticket.getOutTime() == null) || (ticket.getOutTime().before(ticket.getInTime())) ){
             throw new IllegalArgumentException("Out time provided is incorrect:"+ticket.getOutTime().toString());
         }
 
-        int inHour = ticket.getInTime().getHours();
-        int outHour = ticket.getOutTime().getHours();
-
-        //TODO: Some tests are failing here. Need to check if this logic is correct
-        int duration = outHour - inHour;
-
-        switch (ticket.getParkingSpot().getParkingType()){
-            case CAR: {
-                ticket.setPrice(duration * Fare.CAR_RATE_PER_HOUR);
-                break;
-            }
-            case BIKE: {
-                ticket.setPrice(duration * Fare.BIKE_RATE_PER_HOUR);
-                break;
-            }
-            default: throw new IllegalArgumentException("Unkown Parking Type");
+        long durationMillis = ticket.getOutTime().getTime() - ticket.getInTime().getTime();
+        int ratePercent = getRatePercent(occupancyRate);
+
+        ticket.setPrice(price(ticket.getParkingSpot().getParkingType().getRatePerHour(), durationMillis, ratePercent));
+    }
+
+    public int getRatePercent(double occupancyRate){
+        if(occupancyRate < 0){
+            return 100;
+        }
+        if(occupancyRate >= Fare.SURGE_OCCUPANCY_THRESHOLD){
+            return Fare.SURGE_RATE_PERCENT;
+        }
+        if(occupancyRate < Fare.DISCOUNT_OCCUPANCY_THRESHOLD){
+            return Fare.DISCOUNT_RATE_PERCENT;
         }
+        return 100;
+    }
+
+    private static long price(long ratePerHour, long durationMillis, int ratePercent){
+        //integer arithmetic rounded to the nearest cent, half up
+        long divisor = MILLIS_PER_HOUR * 100;
+        return (ratePerHour * durationMillis * ratePercent + divisor / 2) / divisor;
     }
-}
\ No newline at end of file
+}
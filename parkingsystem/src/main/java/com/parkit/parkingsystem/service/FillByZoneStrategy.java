@@ -0,0 +1,101 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class FillByZoneStrategy implements SpotAllocationStrategy {
+
+    public static final int DEFAULT_ZONE_SIZE = 50;
+
+    //zones are filled one after the other so that empty zones can have lighting and ventilation turned down
+    private final int zoneSize;
+    //per type, zones having free spots ordered from the fullest to the emptiest
+    private final TreeSet<Zone>[] openZones;
+    private final Map<Integer, Zone> zones = new HashMap<>();
+    private final Map<Integer, ParkingType> spotTypes = new HashMap<>();
+
+    public FillByZoneStrategy(){
+        this(DEFAULT_ZONE_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public FillByZoneStrategy(int zoneSize){
+        this.zoneSize = zoneSize;
+        openZones = new TreeSet[ParkingType.count()];
+        for(int i = 0; i < openZones.length; i++){
+            openZones[i] = new TreeSet<>();
+        }
+    }
+
+    public synchronized void addSpot(int parkingNumber, ParkingType parkingType, boolean available, long lastFreedMillis){
+        spotTypes.put(parkingNumber, parkingType);
+        if(available){
+            spotFreed(parkingNumber, lastFreedMillis);
+        }
+    }
+
+    public synchronized int selectSpot(ParkingType parkingType){
+        TreeSet<Zone> open = openZones[parkingType.ordinal()];
+        return open.isEmpty() ? -1 : open.first().freeSpots.first();
+    }
+
+    public synchronized int size(){
+        return spotTypes.size();
+    }
+
+    public synchronized void spotTaken(int parkingNumber){
+        ParkingType parkingType = spotTypes.get(parkingNumber);
+        if(parkingType == null){
+            return;
+        }
+        Zone zone = zones.get(zoneKey(parkingNumber, parkingType));
+        if(zone == null || !zone.freeSpots.contains(parkingNumber)){
+            return;
+        }
+        TreeSet<Zone> open = openZones[parkingType.ordinal()];
+        open.remove(zone);
+        zone.freeSpots.remove(parkingNumber);
+        if(!zone.freeSpots.isEmpty()){
+            open.add(zone);
+        }
+    }
+
+    public synchronized void spotFreed(int parkingNumber, long timeMillis){
+        ParkingType parkingType = spotTypes.get(parkingNumber);
+        if(parkingType == null){
+            return;
+        }
+        int key = zoneKey(parkingNumber, parkingType);
+        Zone zone = zones.get(key);
+        if(zone == null){
+            zone = new Zone((parkingNumber - 1) / zoneSize);
+            zones.put(key, zone);
+        }
+        TreeSet<Zone> open = openZones[parkingType.ordinal()];
+        open.remove(zone);
+        zone.freeSpots.add(parkingNumber);
+        open.add(zone);
+    }
+
+    private int zoneKey(int parkingNumber, ParkingType parkingType){
+        return ((parkingNumber - 1) / zoneSize) * ParkingType.count() + parkingType.ordinal();
+    }
+
+    private static final class Zone implements Comparable<Zone> {
+        private final int zoneNumber;
+        private final TreeSet<Integer> freeSpots = new TreeSet<>();
+
+        private Zone(int zoneNumber) {
+            this.zoneNumber = zoneNumber;
+        }
+
+        @Override
+        public int compareTo(Zone other) {
+            int byFreeSpots = Integer.compare(freeSpots.size(), other.freeSpots.size());
+            return (byFreeSpots != 0) ? byFreeSpots : Integer.compare(zoneNumber, other.zoneNumber);
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.parkit.parkingsystem.service;
 
+import com.parkit.parkingsystem.dao.ParkingEventDAO;
 import com.parkit.parkingsystem.dao.ParkingSpotDAO;
 import com.parkit.parkingsystem.dao.TicketDAO;
 import com.parkit.parkingsystem.util.InputReaderUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.PrintStream;
+
 public class InteractiveShell {
 
     private static final Logger logger = LogManager.getLogger("InteractiveShell");
 
+    private static final String STATE_DIRECTORY = System.getProperty("parkingsystem.state.dir", "state");
+    private static final String ALLOCATION_STRATEGY = System.getProperty("parkingsystem.allocation", "nearest");
+    //gate terminals connecting over TCP, e.g. serial terminals behind a serial to network bridge, instead of the console
+    private static final int TERMINAL_PORT = Integer.getInteger("parkingsystem.terminal.port", -1);
+
     public static void loadInterface(){
         logger.info("App initialized!!!");
         System.out.println("Welcome to Parking System!");
@@ -18,11 +26,30 @@ public class InteractiveShell {
         InputReaderUtil inputReaderUtil = new InputReaderUtil();
         ParkingSpotDAO parkingSpotDAO = new ParkingSpotDAO();
         TicketDAO ticketDAO = new TicketDAO();
-        ParkingService parkingService = new ParkingService(inputReaderUtil, parkingSpotDAO, ticketDAO);
+        OccupancyTracker occupancyTracker = new OccupancyTracker();
+        ParkingStateService parkingStateService = new ParkingStateService(new ParkingEventDAO(STATE_DIRECTORY), parkingSpotDAO, ticketDAO);
+        SpotAllocationStrategy spotAllocationStrategy = createAllocationStrategy(ALLOCATION_STRATEGY);
+        ParkingService parkingService = new ParkingService(inputReaderUtil, parkingSpotDAO, ticketDAO, occupancyTracker, parkingStateService, spotAllocationStrategy);
+        OverstayMonitor overstayMonitor = new OverstayMonitor();
+        parkingStateService.addListener(overstayMonitor);
+
+        new StartupService(parkingSpotDAO, ticketDAO, occupancyTracker, parkingStateService, spotAllocationStrategy).warmUp();
+        overstayMonitor.restore(parkingStateService.getState());
+        overstayMonitor.start();
+
+        if(TERMINAL_PORT >= 0){
+            serveTerminals(parkingService);
+            overstayMonitor.stop();
+            return;
+        }
 
         while(continueApp){
-            loadMenu();
+            loadMenu(System.out);
             int option = inputReaderUtil.readSelection();
+            if(option == -1 && inputReaderUtil.isEndOfInput()){
+                //piped script or terminal closed, nothing more will come
+                option = 3;
+            }
             switch(option){
                 case 1: {
                     parkingService.processIncomingVehicle();
@@ -34,6 +61,8 @@ public class InteractiveShell {
                 }
                 case 3: {
                     System.out.println("Exiting from the system!");
+                    System.out.flush();
+                    overstayMonitor.stop();
                     continueApp = false;
                     break;
                 }
@@ -42,11 +71,46 @@ public class InteractiveShell {
         }
     }
 
-    private static void loadMenu(){
-        System.out.println("Please select an option. Simply enter the number to choose an action");
-        System.out.println("1 New Vehicle Entering - Allocate Parking Space");
-        System.out.println("2 Vehicle Exiting - Generate Ticket Price");
-        System.out.println("3 Shutdown System");
+    private static void serveTerminals(ParkingService parkingService){
+        TerminalServer terminalServer = new TerminalServer(parkingService);
+        try{
+            int port = terminalServer.bind(TERMINAL_PORT);
+            System.out.println("Serving gate terminals on port " + port);
+            System.out.flush();
+            terminalServer.run();
+        }catch(Exception e){
+            logger.error("Unable to serve gate terminals", e);
+        }
+    }
+
+    public static void warmUpOnly(){
+        logger.info("Running warm-up only");
+        new StartupService(new ParkingSpotDAO(), new TicketDAO(), new OccupancyTracker(), null, null).warmUp();
+    }
+
+    private static SpotAllocationStrategy createAllocationStrategy(String name){
+        switch(name){
+            case "nearest": {
+                return new NearestToGateStrategy();
+            }
+            case "lru": {
+                return new LeastRecentlyUsedStrategy();
+            }
+            case "zone": {
+                return new FillByZoneStrategy();
+            }
+            default: {
+                logger.error("Unknown allocation strategy " + name + ", using nearest");
+                return new NearestToGateStrategy();
+            }
+        }
+    }
+
+    static void loadMenu(PrintStream out){
+        out.println("Please select an option. Simply enter the number to choose an action");
+        out.println("1 New Vehicle Entering - Allocate Parking Space");
+        out.println("2 Vehicle Exiting - Generate Ticket Price");
+        out.println("3 Shutdown System");
     }
 
 }
@@ -0,0 +1,75 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class LeastRecentlyUsedStrategy implements SpotAllocationStrategy {
+
+    //wear-leveling: the spot freed the longest time ago is used first
+    private final TreeSet<FreeSpot>[] freeSpots;
+    private final Map<Integer, FreeSpot> spots = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public LeastRecentlyUsedStrategy(){
+        freeSpots = new TreeSet[ParkingType.count()];
+        for(int i = 0; i < freeSpots.length; i++){
+            freeSpots[i] = new TreeSet<>();
+        }
+    }
+
+    public synchronized void addSpot(int parkingNumber, ParkingType parkingType, boolean available, long lastFreedMillis){
+        FreeSpot spot = new FreeSpot(parkingNumber, parkingType, lastFreedMillis);
+        spots.put(parkingNumber, spot);
+        if(available){
+            freeSpots[parkingType.ordinal()].add(spot);
+        }
+    }
+
+    public synchronized int selectSpot(ParkingType parkingType){
+        TreeSet<FreeSpot> free = freeSpots[parkingType.ordinal()];
+        return free.isEmpty() ? -1 : free.first().parkingNumber;
+    }
+
+    public synchronized int size(){
+        return spots.size();
+    }
+
+    public synchronized void spotTaken(int parkingNumber){
+        FreeSpot spot = spots.get(parkingNumber);
+        if(spot != null){
+            freeSpots[spot.parkingType.ordinal()].remove(spot);
+        }
+    }
+
+    public synchronized void spotFreed(int parkingNumber, long timeMillis){
+        FreeSpot spot = spots.get(parkingNumber);
+        if(spot != null){
+            //the ordering key changes, so the spot has to leave the set before being updated
+            TreeSet<FreeSpot> free = freeSpots[spot.parkingType.ordinal()];
+            free.remove(spot);
+            spot.lastFreedMillis = timeMillis;
+            free.add(spot);
+        }
+    }
+
+    private static final class FreeSpot implements Comparable<FreeSpot> {
+        private final int parkingNumber;
+        private final ParkingType parkingType;
+        private long lastFreedMillis;
+
+        private FreeSpot(int parkingNumber, ParkingType parkingType, long lastFreedMillis) {
+            this.parkingNumber = parkingNumber;
+            this.parkingType = parkingType;
+            this.lastFreedMillis = lastFreedMillis;
+        }
+
+        @Override
+        public int compareTo(FreeSpot other) {
+            int byTime = Long.compare(lastFreedMillis, other.lastFreedMillis);
+            return (byTime != 0) ? byTime : Integer.compare(parkingNumber, other.parkingNumber);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class NearestToGateStrategy implements SpotAllocationStrategy {
+
+    //spots are numbered from the entrance, so the distance to the gate is the gap between numbers
+    private final int gateParkingNumber;
+    private final TreeSet<Integer>[] freeSpots;
+    private final Map<Integer, ParkingType> spotTypes = new HashMap<>();
+
+    public NearestToGateStrategy(){
+        this(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public NearestToGateStrategy(int gateParkingNumber){
+        this.gateParkingNumber = gateParkingNumber;
+        freeSpots = new TreeSet[ParkingType.count()];
+        for(int i = 0; i < freeSpots.length; i++){
+            freeSpots[i] = new TreeSet<>();
+        }
+    }
+
+    public synchronized void addSpot(int parkingNumber, ParkingType parkingType, boolean available, long lastFreedMillis){
+        spotTypes.put(parkingNumber, parkingType);
+        if(available){
+            freeSpots[parkingType.ordinal()].add(parkingNumber);
+        }
+    }
+
+    public synchronized int selectSpot(ParkingType parkingType){
+        TreeSet<Integer> free = freeSpots[parkingType.ordinal()];
+        Integer below = free.floor(gateParkingNumber);
+        Integer above = free.ceiling(gateParkingNumber);
+        if(below == null && above == null){
+            return -1;
+        }
+        if(below == null){
+            return above;
+        }
+        if(above == null){
+            return below;
+        }
+        return (above - gateParkingNumber < gateParkingNumber - below) ? above : below;
+    }
+
+    public synchronized int size(){
+        return spotTypes.size();
+    }
+
+    public synchronized void spotTaken(int parkingNumber){
+        ParkingType parkingType = spotTypes.get(parkingNumber);
+        if(parkingType != null){
+            freeSpots[parkingType.ordinal()].remove(parkingNumber);
+        }
+    }
+
+    public synchronized void spotFreed(int parkingNumber, long timeMillis){
+        ParkingType parkingType = spotTypes.get(parkingNumber);
+        if(parkingType != null){
+            freeSpots[parkingType.ordinal()].add(parkingNumber);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class OccupancyTracker {
+
+    //one immutable snapshot per parking type, replaced with compare-and-set so readers never lock
+    private final AtomicReferenceArray<Snapshot> snapshots;
+
+    public OccupancyTracker(){
+        long now = System.currentTimeMillis();
+        snapshots = new AtomicReferenceArray<>(ParkingType.count());
+        for(int i = 0; i < snapshots.length(); i++){
+            snapshots.set(i, new Snapshot(0, 0, now, 0));
+        }
+    }
+
+    public void setCounts(ParkingType parkingType, int capacity, int occupied){
+        long now = System.currentTimeMillis();
+        Snapshot current;
+        do {
+            current = snapshots.get(parkingType.ordinal());
+        } while(!snapshots.compareAndSet(parkingType.ordinal(), current,
+                new Snapshot(capacity, occupied, now, current.integralAt(now))));
+    }
+
+    public double vehicleEntered(ParkingType parkingType){
+        return update(parkingType, 1);
+    }
+
+    public double vehicleExited(ParkingType parkingType){
+        return update(parkingType, -1);
+    }
+
+    public int getOccupied(ParkingType parkingType){
+        return snapshots.get(parkingType.ordinal()).occupied;
+    }
+
+    public int getCapacity(ParkingType parkingType){
+        return snapshots.get(parkingType.ordinal()).capacity;
+    }
+
+    public double getOccupancyIntegral(ParkingType parkingType, long timeMillis){
+        return snapshots.get(parkingType.ordinal()).integralAt(timeMillis);
+    }
+
+    //time-weighted occupancy rate between two instants, or -1 when the capacity of the type is unknown
+    public double getAverageOccupancy(ParkingType parkingType, double integralAtStart, long startMillis, long endMillis){
+        Snapshot snapshot = snapshots.get(parkingType.ordinal());
+        if(snapshot.capacity <= 0){
+            return -1;
+        }
+        if(endMillis <= startMillis){
+            return snapshot.rate();
+        }
+        return (snapshot.integralAt(endMillis) - integralAtStart) / (endMillis - startMillis);
+    }
+
+    public double getOccupancy(ParkingType parkingType){
+        Snapshot snapshot = snapshots.get(parkingType.ordinal());
+        return (snapshot.capacity <= 0) ? -1 : snapshot.rate();
+    }
+
+    private double update(ParkingType parkingType, int delta){
+        long now = System.currentTimeMillis();
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = snapshots.get(parkingType.ordinal());
+            next = new Snapshot(current.capacity, Math.max(0, current.occupied + delta), now, current.integralAt(now));
+        } while(!snapshots.compareAndSet(parkingType.ordinal(), current, next));
+        return next.integral;
+    }
+
+    private static final class Snapshot {
+        private final int capacity;
+        private final int occupied;
+        private final long sinceMillis;
+        //sum of occupancy rate * elapsed milliseconds up to sinceMillis
+        private final double integral;
+
+        private Snapshot(int capacity, int occupied, long sinceMillis, double integral) {
+            this.capacity = capacity;
+            this.occupied = occupied;
+            this.sinceMillis = sinceMillis;
+            this.integral = integral;
+        }
+
+        private double rate(){
+            return (capacity <= 0) ? 0 : Math.min(1.0, (double) occupied / capacity);
+        }
+
+        private double integralAt(long timeMillis){
+            return integral + rate() * Math.max(0, timeMillis - sinceMillis);
+        }
+    }
+}
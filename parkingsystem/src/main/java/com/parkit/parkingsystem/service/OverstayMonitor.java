@@ -0,0 +1,189 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.model.ParkingAlert;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import com.parkit.parkingsystem.util.RegistrationNumberUtil;
+import com.parkit.parkingsystem.util.TimerWheel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OverstayMonitor implements ParkingEventListener {
+
+    private static final Logger logger = LogManager.getLogger("OverstayMonitor");
+
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000L;
+    public static final long TICK_MILLIS = 60 * 1000L;
+    public static final long OVERSTAY_MILLIS = Long.getLong("parkingsystem.overstay.hours", 24) * MILLIS_PER_HOUR;
+    public static final long GRACE_PERIOD_MILLIS = Long.getLong("parkingsystem.grace.hours", 72) * MILLIS_PER_HOUR;
+
+    private final long overstayMillis;
+    private final long gracePeriodMillis;
+    private final long tickMillis;
+    private final TimerWheel timerWheel;
+    //one timeout per parked vehicle, replaced when the overstay turns into a grace period
+    private final Map<Long, Watch> watches = new ConcurrentHashMap<>();
+    private final List<ParkingAlertListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong overstayAlertCount = new AtomicLong();
+    private final AtomicLong abandonedAlertCount = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public OverstayMonitor(){
+        this(OVERSTAY_MILLIS, GRACE_PERIOD_MILLIS, TICK_MILLIS, System.currentTimeMillis());
+    }
+
+    public OverstayMonitor(long overstayMillis, long gracePeriodMillis, long tickMillis, long startMillis){
+        this.overstayMillis = overstayMillis;
+        this.gracePeriodMillis = gracePeriodMillis;
+        this.tickMillis = tickMillis;
+        this.timerWheel = new TimerWheel(tickMillis, startMillis);
+    }
+
+    public void addListener(ParkingAlertListener listener){
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onEvent(ParkingEvent event){
+        switch(event.getKind()){
+            case VEHICLE_ENTERED: {
+                vehicleEntered(event.getParkingNumber(), event.getParkingType(), event.getVehicleKey(), event.getTimeMillis());
+                break;
+            }
+            case VEHICLE_EXITED: {
+                vehicleExited(event.getVehicleKey());
+                break;
+            }
+            default: break;
+        }
+    }
+
+    public void restore(ParkingLotState state){
+        state.forEachSpot((parkingNumber, parkingType, vehicleKey, inTimeMillis, lastFreedMillis) -> {
+            if(vehicleKey != 0){
+                vehicleEntered(parkingNumber, parkingType, vehicleKey, inTimeMillis);
+            }
+        });
+        logger.info("Watching " + watches.size() + " parked vehicles for overstay");
+    }
+
+    public synchronized void vehicleEntered(int parkingNumber, ParkingType parkingType, long vehicleKey, long inTimeMillis){
+        schedule(vehicleKey, inTimeMillis, inTimeMillis + overstayMillis,
+                () -> overstayed(parkingNumber, parkingType, vehicleKey, inTimeMillis));
+    }
+
+    public synchronized void vehicleExited(long vehicleKey){
+        Watch watch = watches.remove(vehicleKey);
+        if(watch != null){
+            timerWheel.cancel(watch.timeout);
+        }
+    }
+
+    public void advance(long nowMillis){
+        timerWheel.advanceTo(nowMillis);
+    }
+
+    public synchronized void start(){
+        if(scheduler != null){
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overstay-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try{
+                advance(System.currentTimeMillis());
+            }catch(Exception e){
+                logger.error("Error checking parked vehicles for overstay", e);
+            }
+        }, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop(){
+        if(scheduler != null){
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public int getWatchedVehicleCount(){
+        return watches.size();
+    }
+
+    public long getOverstayAlertCount(){
+        return overstayAlertCount.get();
+    }
+
+    public long getAbandonedAlertCount(){
+        return abandonedAlertCount.get();
+    }
+
+    private void overstayed(int parkingNumber, ParkingType parkingType, long vehicleKey, long inTimeMillis){
+        synchronized(this){
+            //the vehicle may have left, or parked again, while the timeout was firing
+            if(!isWatched(vehicleKey, inTimeMillis)){
+                return;
+            }
+            schedule(vehicleKey, inTimeMillis, inTimeMillis + overstayMillis + gracePeriodMillis,
+                    () -> abandoned(parkingNumber, parkingType, vehicleKey, inTimeMillis));
+        }
+        overstayAlertCount.incrementAndGet();
+        alert(new ParkingAlert(ParkingAlert.Kind.OVERSTAY, parkingNumber, parkingType,
+                RegistrationNumberUtil.fromKey(vehicleKey), inTimeMillis, System.currentTimeMillis()));
+    }
+
+    private void abandoned(int parkingNumber, ParkingType parkingType, long vehicleKey, long inTimeMillis){
+        synchronized(this){
+            if(!isWatched(vehicleKey, inTimeMillis)){
+                return;
+            }
+            watches.remove(vehicleKey);
+        }
+        abandonedAlertCount.incrementAndGet();
+        alert(new ParkingAlert(ParkingAlert.Kind.ABANDONED, parkingNumber, parkingType,
+                RegistrationNumberUtil.fromKey(vehicleKey), inTimeMillis, System.currentTimeMillis()));
+    }
+
+    private boolean isWatched(long vehicleKey, long inTimeMillis){
+        Watch watch = watches.get(vehicleKey);
+        return watch != null && watch.inTimeMillis == inTimeMillis;
+    }
+
+    private void schedule(long vehicleKey, long inTimeMillis, long deadlineMillis, Runnable task){
+        Watch previous = watches.put(vehicleKey, new Watch(inTimeMillis, timerWheel.schedule(deadlineMillis, task)));
+        if(previous != null){
+            timerWheel.cancel(previous.timeout);
+        }
+    }
+
+    private void alert(ParkingAlert alert){
+        logger.warn("Vehicle " + alert.getVehicleRegNumber() + " " + alert.getKind() + " on spot " + alert.getParkingNumber()
+                + " since " + new Date(alert.getInTimeMillis()));
+        for(ParkingAlertListener listener : listeners){
+            listener.onAlert(alert);
+        }
+    }
+
+    private static final class Watch {
+        private final long inTimeMillis;
+        private final TimerWheel.Timeout timeout;
+
+        private Watch(long inTimeMillis, TimerWheel.Timeout timeout) {
+            this.inTimeMillis = inTimeMillis;
+            this.timeout = timeout;
+        }
+    }
+}
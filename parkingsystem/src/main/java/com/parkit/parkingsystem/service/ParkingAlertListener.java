@@ -0,0 +1,8 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.model.ParkingAlert;
+
+public interface ParkingAlertListener {
+
+    void onAlert(ParkingAlert alert);
+}
@@ -0,0 +1,8 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.model.ParkingEvent;
+
+public interface ParkingEventListener {
+
+    void onEvent(ParkingEvent event);
+}
@@ -6,25 +6,48 @@ import com.parkit.parkingsystem.dao.TicketDAO;
 import com.parkit.parkingsystem.model.ParkingSpot;
 import com.parkit.parkingsystem.model.Ticket;
 import com.parkit.parkingsystem.util.InputReaderUtil;
+import com.parkit.parkingsystem.util.RegistrationNumberUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.PrintStream;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ParkingService {
 
     private static final Logger logger = LogManager.getLogger("ParkingService");
 
+    private static final int MAX_ALLOCATION_ATTEMPTS = 10;
+
     private static FareCalculatorService fareCalculatorService = new FareCalculatorService();
 
     private InputReaderUtil inputReaderUtil;
     private ParkingSpotDAO parkingSpotDAO;
     private  TicketDAO ticketDAO;
+    private OccupancyTracker occupancyTracker;
+    private ParkingStateService parkingStateService;
+    private SpotAllocationStrategy spotAllocationStrategy;
+
+    //occupancy integral of the vehicle's parking type at entry, used to price the stay on exit
+    private Map<Long, Double> entryOccupancyIntegrals = new ConcurrentHashMap<>();
 
     public ParkingService(InputReaderUtil inputReaderUtil, ParkingSpotDAO parkingSpotDAO, TicketDAO ticketDAO){
+        this(inputReaderUtil, parkingSpotDAO, ticketDAO, new OccupancyTracker());
+    }
+
+    public ParkingService(InputReaderUtil inputReaderUtil, ParkingSpotDAO parkingSpotDAO, TicketDAO ticketDAO, OccupancyTracker occupancyTracker){
+        this(inputReaderUtil, parkingSpotDAO, ticketDAO, occupancyTracker, null, null);
+    }
+
+    public ParkingService(InputReaderUtil inputReaderUtil, ParkingSpotDAO parkingSpotDAO, TicketDAO ticketDAO, OccupancyTracker occupancyTracker, ParkingStateService parkingStateService, SpotAllocationStrategy spotAllocationStrategy){
         this.inputReaderUtil = inputReaderUtil;
         this.parkingSpotDAO = parkingSpotDAO;
         this.ticketDAO = ticketDAO;
+        this.occupancyTracker = occupancyTracker;
+        this.parkingStateService = parkingStateService;
+        this.spotAllocationStrategy = spotAllocationStrategy;
     }
 
     public void processIncomingVehicle() {
@@ -32,89 +55,200 @@ public class ParkingService {
             ParkingSpot parkingSpot = getNextParkingNumberIfAvailable();
             if(parkingSpot !=null && parkingSpot.getId() > 0){
                 String vehicleRegNumber = getVehichleRegNumber();
-                parkingSpot.setAvailable(false);
-                parkingSpotDAO.updateParking(parkingSpot);//allot this parking space and mark it's availability as false
-
-                Date inTime = new Date();
-                Ticket ticket = new Ticket();
-                //ID, PARKING_NUMBER, VEHICLE_REG_NUMBER, PRICE, IN_TIME, OUT_TIME)
-                //ticket.setId(ticketID);
-                ticket.setParkingSpot(parkingSpot);
-                ticket.setVehicleRegNumber(vehicleRegNumber);
-                ticket.setPrice(0);
-                ticket.setInTime(inTime);
-                ticket.setOutTime(null);
-                ticketDAO.saveTicket(ticket);
-                System.out.println("Generated Ticket and saved in DB");
-                System.out.println("Please park your vehicle in spot number:"+parkingSpot.getId());
-                System.out.println("Recorded in-time for vehicle number:"+vehicleRegNumber+" is:"+inTime);
+                parkVehicle(parkingSpot, vehicleRegNumber, System.out);
+            }
+        }catch(Exception e){
+            logger.error("Unable to process incoming vehicle",e);
+        }
+    }
+
+    //the steps of the dialogue below are also driven one input line at a time by TerminalSession, which passes its own output
+    public void parkVehicle(ParkingSpot parkingSpot, String vehicleRegNumber, PrintStream out) {
+        try{
+            parkingSpot = allocateParkingSpot(parkingSpot);//allot this parking space and mark it's availability as false
+            if(parkingSpot == null){
+                out.println("Unable to allocate a parking space. Parking slots might be full");
+                return;
+            }
+
+            Date inTime = new Date();
+            Ticket ticket = new Ticket();
+            //ID, PARKING_NUMBER, VEHICLE_REG_NUMBER, PRICE, IN_TIME, OUT_TIME)
+            //ticket.setId(ticketID);
+            ticket.setParkingSpot(parkingSpot);
+            ticket.setVehicleRegNumber(vehicleRegNumber);
+            ticket.setPrice(0);
+            ticket.setInTime(inTime);
+            ticket.setOutTime(null);
+            ticketDAO.saveTicket(ticket);
+            entryOccupancyIntegrals.put(RegistrationNumberUtil.toKey(vehicleRegNumber), occupancyTracker.vehicleEntered(parkingSpot.getParkingType()));
+            if(parkingStateService != null){
+                parkingStateService.vehicleEntered(parkingSpot, vehicleRegNumber, inTime.getTime());
             }
+            out.println("Generated Ticket and saved in DB");
+            out.println("Please park your vehicle in spot number:"+parkingSpot.getId());
+            out.println("Recorded in-time for vehicle number:"+vehicleRegNumber+" is:"+inTime);
         }catch(Exception e){
             logger.error("Unable to process incoming vehicle",e);
         }
     }
 
+    private ParkingSpot allocateParkingSpot(ParkingSpot parkingSpot){
+        //another gate may have taken the same spot since it was read, in that case try the next free one
+        for(int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS; attempt++){
+            int allocated = parkingSpotDAO.allocateParking(parkingSpot);
+            if(allocated < 0){
+                //database error, nothing is known about the spot so it stays free in the index
+                return null;
+            }
+            if(spotAllocationStrategy != null){
+                //taken either by this vehicle or by another gate, in both cases it is not free anymore
+                spotAllocationStrategy.spotTaken(parkingSpot.getId());
+            }
+            if(allocated == 1){
+                parkingSpot.setAvailable(false);
+                return parkingSpot;
+            }
+            int parkingNumber = getNextAvailableSlot(parkingSpot.getParkingType());
+            if(parkingNumber <= 0){
+                return null;
+            }
+            parkingSpot = new ParkingSpot(parkingNumber, parkingSpot.getParkingType(), true);
+        }
+        logger.error("Unable to allocate a parking spot after " + MAX_ALLOCATION_ATTEMPTS + " attempts");
+        return null;
+    }
+
     private String getVehichleRegNumber() throws Exception {
-        System.out.println("Please type the vehicle registration number and press enter key");
+        printVehicleRegNumberPrompt(System.out);
         return inputReaderUtil.readVehicleRegistrationNumber();
     }
 
+    public void printVehicleRegNumberPrompt(PrintStream out){
+        out.println("Please type the vehicle registration number and press enter key");
+    }
+
     public ParkingSpot getNextParkingNumberIfAvailable(){
+        try{
+            return getNextParkingNumberIfAvailable(getVehichleType());
+        }catch(IllegalArgumentException ie){
+            logger.error("Error parsing user input for type of vehicle", ie);
+            return null;
+        }
+    }
+
+    public ParkingSpot getNextParkingNumberIfAvailable(ParkingType parkingType){
         int parkingNumber=0;
         ParkingSpot parkingSpot = null;
         try{
-            ParkingType parkingType = getVehichleType();
-            parkingNumber = parkingSpotDAO.getNextAvailableSlot(parkingType);
+            parkingNumber = getNextAvailableSlot(parkingType);
             if(parkingNumber > 0){
                 parkingSpot = new ParkingSpot(parkingNumber,parkingType, true);
             }else{
                 throw new Exception("Error fetching parking number from DB. Parking slots might be full");
             }
-        }catch(IllegalArgumentException ie){
-            logger.error("Error parsing user input for type of vehicle", ie);
         }catch(Exception e){
             logger.error("Error fetching next available parking slot", e);
         }
         return parkingSpot;
     }
 
-    private ParkingType getVehichleType(){
-        System.out.println("Please select vehicle type from menu");
-        System.out.println("1 CAR");
-        System.out.println("2 BIKE");
-        int input = inputReaderUtil.readSelection();
-        switch(input){
-            case 1: {
-                return ParkingType.CAR;
-            }
-            case 2: {
-                return ParkingType.BIKE;
-            }
-            default: {
-                System.out.println("Incorrect input provided");
-                throw new IllegalArgumentException("Entered input is invalid");
+    private int getNextAvailableSlot(ParkingType parkingType){
+        if(spotAllocationStrategy != null && loadAllocationIndex()){
+            return spotAllocationStrategy.selectSpot(parkingType);
+        }
+        return parkingSpotDAO.getNextAvailableSlot(parkingType);
+    }
+
+    private boolean loadAllocationIndex(){
+        if(spotAllocationStrategy.size() > 0){
+            return true;
+        }
+        //the index is empty when the database was down at startup, retried until the parking table can be read
+        synchronized(spotAllocationStrategy){
+            if(spotAllocationStrategy.size() == 0){
+                for(ParkingSpot parkingSpot : parkingSpotDAO.getParkingSpots()){
+                    spotAllocationStrategy.addSpot(parkingSpot.getId(), parkingSpot.getParkingType(), parkingSpot.isAvailable(), 0);
+                }
             }
+            return spotAllocationStrategy.size() > 0;
+        }
+    }
+
+    private ParkingType getVehichleType(){
+        printVehicleTypeMenu(System.out);
+        return getVehicleType(inputReaderUtil.readSelection(), System.out);
+    }
+
+    public void printVehicleTypeMenu(PrintStream out){
+        out.println("Please select vehicle type from menu");
+        ParkingType[] parkingTypes = ParkingType.values();
+        for(int i = 0; i < parkingTypes.length; i++){
+            out.println((i + 1) + " " + parkingTypes[i].getLabel());
+        }
+    }
+
+    public ParkingType getVehicleType(int input, PrintStream out){
+        ParkingType[] parkingTypes = ParkingType.values();
+        if(input < 1 || input > parkingTypes.length){
+            out.println("Incorrect input provided");
+            throw new IllegalArgumentException("Entered input is invalid");
         }
+        return parkingTypes[input - 1];
     }
 
     public void processExitingVehicle() {
         try{
             String vehicleRegNumber = getVehichleRegNumber();
-            Ticket ticket = ticketDAO.getTicket(vehicleRegNumber);
+            exitVehicle(vehicleRegNumber, System.out);
+        }catch(Exception e){
+            logger.error("Unable to process exiting vehicle",e);
+        }
+    }
+
+    public void exitVehicle(String vehicleRegNumber, PrintStream out) {
+        try{
+            Ticket ticket = ticketDAO.getTicketForUpdate(vehicleRegNumber);
+            if(ticket == null){
+                out.println("No parked vehicle found for vehicle number:" + vehicleRegNumber);
+                return;
+            }
             Date outTime = new Date();
             ticket.setOutTime(outTime);
-            fareCalculatorService.calculateFare(ticket);
+            fareCalculatorService.calculateFare(ticket, getAverageOccupancy(ticket));
             if(ticketDAO.updateTicket(ticket)) {
                 ParkingSpot parkingSpot = ticket.getParkingSpot();
                 parkingSpot.setAvailable(true);
                 parkingSpotDAO.updateParking(parkingSpot);
-                System.out.println("Please pay the parking fare:" + ticket.getPrice());
-                System.out.println("Recorded out-time for vehicle number:" + ticket.getVehicleRegNumber() + " is:" + outTime);
+                entryOccupancyIntegrals.remove(RegistrationNumberUtil.toKey(vehicleRegNumber));
+                occupancyTracker.vehicleExited(parkingSpot.getParkingType());
+                if(spotAllocationStrategy != null){
+                    spotAllocationStrategy.spotFreed(parkingSpot.getId(), outTime.getTime());
+                }
+                if(parkingStateService != null){
+                    parkingStateService.vehicleExited(ticket);
+                }
+                out.println("Please pay the parking fare:" + (ticket.getPrice() / 100) + "." + String.format("%02d", ticket.getPrice() % 100));
+                out.println("Recorded out-time for vehicle number:" + ticket.getVehicleRegNumber() + " is:" + outTime);
             }else{
-                System.out.println("Unable to update ticket information. Error occurred");
+                out.println("Unable to update ticket information. Error occurred");
             }
         }catch(Exception e){
             logger.error("Unable to process exiting vehicle",e);
         }
     }
+
+    private double getAverageOccupancy(Ticket ticket){
+        ParkingType parkingType = ticket.getParkingSpot().getParkingType();
+        if(parkingType == null){
+            return -1;
+        }
+        Double entryIntegral = entryOccupancyIntegrals.get(RegistrationNumberUtil.toKey(ticket.getVehicleRegNumber()));
+        if(entryIntegral == null){
+            //vehicle entered before this service was started, fall back to the current occupancy
+            return occupancyTracker.getOccupancy(parkingType);
+        }
+        return occupancyTracker.getAverageOccupancy(parkingType, entryIntegral,
+                ticket.getInTime().getTime(), ticket.getOutTime().getTime());
+    }
 }
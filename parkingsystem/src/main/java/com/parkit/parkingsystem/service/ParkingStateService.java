@@ -0,0 +1,144 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.dao.ParkingEventDAO;
+import com.parkit.parkingsystem.dao.ParkingSpotDAO;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import com.parkit.parkingsystem.model.Ticket;
+import com.parkit.parkingsystem.util.RegistrationNumberUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ParkingStateService {
+
+    private static final Logger logger = LogManager.getLogger("ParkingStateService");
+
+    public static final int SNAPSHOT_INTERVAL = 1000;
+
+    private ParkingEventDAO parkingEventDAO;
+    private ParkingSpotDAO parkingSpotDAO;
+    private TicketDAO ticketDAO;
+    private ParkingLotState state = new ParkingLotState();
+    private int eventsSinceSnapshot;
+    //events are only logged on top of a restored state, never on top of the empty one
+    private boolean restored;
+    private List<ParkingEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ParkingStateService(ParkingEventDAO parkingEventDAO, ParkingSpotDAO parkingSpotDAO, TicketDAO ticketDAO){
+        this.parkingEventDAO = parkingEventDAO;
+        this.parkingSpotDAO = parkingSpotDAO;
+        this.ticketDAO = ticketDAO;
+    }
+
+    //returns null when there is no snapshot and the state cannot be rebuilt from the database either
+    public synchronized ParkingLotState restore(boolean dataBaseAvailable){
+        ParkingLotState snapshot = parkingEventDAO.getSnapshot();
+        if(snapshot == null){
+            if(!dataBaseAvailable){
+                logger.error("No parking lot snapshot found and no database access, parking events are not logged until the state is restored");
+                return null;
+            }
+            logger.info("No parking lot snapshot found, rebuilding state from database");
+            ParkingLotState dataBaseState = loadFromDataBase();
+            if(dataBaseState.size() == 0){
+                logger.error("No parking spots read from database, parking events are not logged until the state is restored");
+                return null;
+            }
+            state = dataBaseState;
+            parkingEventDAO.saveSnapshot(state);
+            eventsSinceSnapshot = 0;
+            restored = true;
+            return state;
+        }
+        List<ParkingEvent> events = parkingEventDAO.getEvents(snapshot.getLastSequence());
+        for(ParkingEvent event : events){
+            snapshot.apply(event);
+        }
+        logger.info("Restored " + snapshot.size() + " parking spots from snapshot and " + events.size() + " events");
+        state = snapshot;
+        eventsSinceSnapshot = events.size();
+        if(dataBaseAvailable){
+            reconcileSpots();
+        }
+        restored = true;
+        return state;
+    }
+
+    private void reconcileSpots(){
+        //spots or types added to the parking table since the snapshot was taken
+        List<ParkingSpot> parkingSpots = parkingSpotDAO.getParkingSpots();
+        if(parkingSpots.isEmpty()){
+            logger.error("No parking spots read from database, keeping the parking spots of the snapshot");
+            return;
+        }
+        if(state.reconcile(parkingSpots)){
+            logger.info("Parking spots of the snapshot updated from database, " + state.size() + " parking spots");
+            if(parkingEventDAO.saveSnapshot(state)){
+                eventsSinceSnapshot = 0;
+            }
+        }
+    }
+
+    public synchronized boolean isRestored(){
+        return restored;
+    }
+
+    public synchronized ParkingLotState getState(){
+        return state;
+    }
+
+    public void addListener(ParkingEventListener listener){
+        listeners.add(listener);
+    }
+
+    public void vehicleEntered(ParkingSpot parkingSpot, String vehicleRegNumber, long inTimeMillis){
+        record(new ParkingEvent(ParkingEvent.Kind.VEHICLE_ENTERED, parkingSpot.getId(), parkingSpot.getParkingType(),
+                RegistrationNumberUtil.toKey(vehicleRegNumber), inTimeMillis, 0));
+    }
+
+    public void vehicleExited(Ticket ticket){
+        ParkingSpot parkingSpot = ticket.getParkingSpot();
+        long outTimeMillis = ticket.getOutTime().getTime();
+        record(new ParkingEvent(ParkingEvent.Kind.VEHICLE_EXITED, parkingSpot.getId(), parkingSpot.getParkingType(),
+                RegistrationNumberUtil.toKey(ticket.getVehicleRegNumber()), outTimeMillis, ticket.getPrice()));
+        record(new ParkingEvent(ParkingEvent.Kind.SPOT_FREED, parkingSpot.getId(), parkingSpot.getParkingType(),
+                0, outTimeMillis, 0));
+    }
+
+    private synchronized void record(ParkingEvent event){
+        if(!restored){
+            //the database was down at startup, rebuilding now also covers this event which is already in the tables
+            if(restore(true) == null){
+                logger.error("Parking lot state not restored, " + event.getKind() + " event of spot " + event.getParkingNumber() + " not logged");
+            }
+        }else{
+            event.setSequence(state.getLastSequence() + 1);
+            state.apply(event);
+            parkingEventDAO.appendEvent(event);
+            if(++eventsSinceSnapshot >= SNAPSHOT_INTERVAL && parkingEventDAO.saveSnapshot(state)){
+                eventsSinceSnapshot = 0;
+            }
+        }
+        for(ParkingEventListener listener : listeners){
+            listener.onEvent(event);
+        }
+    }
+
+    private ParkingLotState loadFromDataBase(){
+        ParkingLotState dataBaseState = new ParkingLotState();
+        for(ParkingSpot parkingSpot : parkingSpotDAO.getParkingSpots()){
+            dataBaseState.addSpot(parkingSpot.getId(), parkingSpot.getParkingType());
+        }
+        for(Ticket ticket : ticketDAO.getOpenTickets()){
+            dataBaseState.apply(new ParkingEvent(ParkingEvent.Kind.VEHICLE_ENTERED, ticket.getParkingSpot().getId(),
+                    ticket.getParkingSpot().getParkingType(), RegistrationNumberUtil.toKey(ticket.getVehicleRegNumber()),
+                    ticket.getInTime().getTime(), 0));
+        }
+        return dataBaseState;
+    }
+}
@@ -0,0 +1,50 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.model.TicketPrices;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+public class RevenueService {
+
+    private TicketDAO ticketDAO;
+
+    public RevenueService(TicketDAO ticketDAO){
+        this.ticketDAO = ticketDAO;
+    }
+
+    //revenue in cents of the tickets closed on that day, indexed by parking type ordinal
+    public long[] getDailyRevenueByParkingType(LocalDate day){
+        TicketPrices ticketPrices = ticketDAO.getTicketPrices(Timestamp.valueOf(day.atStartOfDay()),
+                Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        return totalByParkingType(ticketPrices);
+    }
+
+    public static long total(long[] prices, int count){
+        //four independent sums so that each addition does not wait for the previous one
+        long total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+        int end = count & ~3;
+        for(int i = 0; i < end; i += 4){
+            total0 += prices[i];
+            total1 += prices[i + 1];
+            total2 += prices[i + 2];
+            total3 += prices[i + 3];
+        }
+        for(int i = end; i < count; i++){
+            total0 += prices[i];
+        }
+        return total0 + total1 + total2 + total3;
+    }
+
+    //every type is a contiguous array totalled in registers, instead of adding each price to the total of its type
+    //in memory where an addition waits for the previous one of the same type
+    public static long[] totalByParkingType(TicketPrices ticketPrices){
+        long[] totals = new long[ParkingType.count()];
+        for(ParkingType parkingType : ParkingType.values()){
+            totals[parkingType.ordinal()] = total(ticketPrices.getPrices(parkingType), ticketPrices.size(parkingType));
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,18 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+
+public interface SpotAllocationStrategy {
+
+    void addSpot(int parkingNumber, ParkingType parkingType, boolean available, long lastFreedMillis);
+
+    //returns the spot to give to the next vehicle of this type without taking it, or -1 when there is none
+    int selectSpot(ParkingType parkingType);
+
+    //number of spots known to the index, free or not
+    int size();
+
+    void spotTaken(int parkingNumber);
+
+    void spotFreed(int parkingNumber, long timeMillis);
+}
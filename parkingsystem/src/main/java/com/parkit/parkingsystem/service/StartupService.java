@@ -0,0 +1,148 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.ParkingSpotDAO;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import com.parkit.parkingsystem.model.Ticket;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.Date;
+import java.util.List;
+
+public class StartupService {
+
+    private static final Logger logger = LogManager.getLogger("StartupService");
+
+    private static final int FARE_WARM_UP_ITERATIONS = 20000;
+    private static final int DATA_ACCESS_WARM_UP_ITERATIONS = 5;
+    private static final String WARM_UP_VEHICLE_REG_NUMBER = "WARMUP";
+
+    private ParkingSpotDAO parkingSpotDAO;
+    private TicketDAO ticketDAO;
+    private OccupancyTracker occupancyTracker;
+    private ParkingStateService parkingStateService;
+    private SpotAllocationStrategy spotAllocationStrategy;
+    private FareCalculatorService fareCalculatorService = new FareCalculatorService();
+
+    public StartupService(ParkingSpotDAO parkingSpotDAO, TicketDAO ticketDAO, OccupancyTracker occupancyTracker, ParkingStateService parkingStateService, SpotAllocationStrategy spotAllocationStrategy){
+        this.parkingSpotDAO = parkingSpotDAO;
+        this.ticketDAO = ticketDAO;
+        this.occupancyTracker = occupancyTracker;
+        this.parkingStateService = parkingStateService;
+        this.spotAllocationStrategy = spotAllocationStrategy;
+    }
+
+    public boolean warmUp(){
+        long start = System.nanoTime();
+        boolean dataBaseReady = checkDataBase();
+        warmUpFareCalculator();
+        if(dataBaseReady){
+            backfillVehicleKeys();
+        }
+        //a snapshot restores the state without the database, only rebuilding it without a snapshot needs it
+        ParkingLotState state = (parkingStateService == null) ? null : parkingStateService.restore(dataBaseReady);
+        if(state != null || dataBaseReady){
+            //every allocation starts from the counters and the index, the parking table is read from the primary, not a replica
+            List<ParkingSpot> parkingSpots = (state == null) ? parkingSpotDAO.getParkingSpots() : null;
+            loadOccupancy(state, parkingSpots);
+            loadAllocationIndex(state, parkingSpots);
+        }
+        if(dataBaseReady){
+            warmUpDataAccess();
+        }
+        long warmUpMillis = (System.nanoTime() - start) / 1_000_000;
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        if(dataBaseReady){
+            logger.info("Parking System ready. Warm-up took " + warmUpMillis + " ms, startup took " + uptimeMillis + " ms");
+        }else{
+            logger.error("Parking System started without database access. Warm-up took " + warmUpMillis + " ms, startup took " + uptimeMillis + " ms");
+        }
+        return dataBaseReady;
+    }
+
+    private boolean checkDataBase(){
+        //loads the JDBC driver and opens a first connection so that the first gate event does not pay for it
+        Connection con = null;
+        try{
+            con = parkingSpotDAO.dataBaseConfig.getConnection();
+            return con.isValid(1);
+        }catch(Exception e){
+            logger.error("Unable to reach database during warm-up", e);
+            return false;
+        }finally {
+            parkingSpotDAO.dataBaseConfig.closeConnection(con);
+        }
+    }
+
+    private void backfillVehicleKeys(){
+        int updated = ticketDAO.backfillVehicleKeys();
+        if(updated > 0){
+            logger.info("Set the vehicle key of " + updated + " existing tickets");
+        }
+    }
+
+    private void loadOccupancy(ParkingLotState state, List<ParkingSpot> parkingSpots){
+        if(state != null){
+            //snapshot plus event log tail, the parking and ticket tables are only read when there is no snapshot yet
+            for(ParkingType parkingType : ParkingType.values()){
+                occupancyTracker.setCounts(parkingType, state.getSpotCount(parkingType), state.getOccupiedCount(parkingType));
+            }
+            return;
+        }
+        if(parkingSpots.isEmpty()){
+            return;
+        }
+        int[] capacities = new int[ParkingType.count()];
+        int[] occupied = new int[ParkingType.count()];
+        for(ParkingSpot parkingSpot : parkingSpots){
+            capacities[parkingSpot.getParkingType().ordinal()]++;
+            if(!parkingSpot.isAvailable()){
+                occupied[parkingSpot.getParkingType().ordinal()]++;
+            }
+        }
+        for(ParkingType parkingType : ParkingType.values()){
+            occupancyTracker.setCounts(parkingType, capacities[parkingType.ordinal()], occupied[parkingType.ordinal()]);
+        }
+    }
+
+    private void loadAllocationIndex(ParkingLotState state, List<ParkingSpot> parkingSpots){
+        if(spotAllocationStrategy == null){
+            return;
+        }
+        if(state != null){
+            state.forEachSpot((parkingNumber, parkingType, vehicleKey, inTimeMillis, lastFreedMillis) ->
+                    spotAllocationStrategy.addSpot(parkingNumber, parkingType, vehicleKey == 0, lastFreedMillis));
+            return;
+        }
+        for(ParkingSpot parkingSpot : parkingSpots){
+            spotAllocationStrategy.addSpot(parkingSpot.getId(), parkingSpot.getParkingType(), parkingSpot.isAvailable(), 0);
+        }
+    }
+
+    private void warmUpFareCalculator(){
+        ParkingType[] parkingTypes = ParkingType.values();
+        long now = System.currentTimeMillis();
+        for(int i = 0; i < FARE_WARM_UP_ITERATIONS; i++){
+            Ticket ticket = new Ticket();
+            ticket.setParkingSpot(new ParkingSpot(1, parkingTypes[i % parkingTypes.length], false));
+            ticket.setInTime(new Date(now - ((i % 1440) * 60 * 1000L)));
+            ticket.setOutTime(new Date(now));
+            fareCalculatorService.calculateFare(ticket, (i % 100) / 100.0);
+        }
+    }
+
+    private void warmUpDataAccess(){
+        //read-only queries only, the warm-up must never allocate a spot or record a ticket
+        for(int i = 0; i < DATA_ACCESS_WARM_UP_ITERATIONS; i++){
+            for(ParkingType parkingType : ParkingType.values()){
+                parkingSpotDAO.getNextAvailableSlot(parkingType);
+            }
+            ticketDAO.getTicketForUpdate(WARM_UP_VEHICLE_REG_NUMBER);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.parkit.parkingsystem.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+public class TerminalServer {
+
+    private static final Logger logger = LogManager.getLogger("TerminalServer");
+
+    private ParkingService parkingService;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+
+    public TerminalServer(ParkingService parkingService){
+        this.parkingService = parkingService;
+    }
+
+    //port 0 picks a free port, the bound port is returned
+    public int bind(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        int boundPort = serverChannel.socket().getLocalPort();
+        logger.info("Waiting for gate terminals on port " + boundPort);
+        return boundPort;
+    }
+
+    //every terminal is served by this one thread, until a terminal selects shutdown or stop() is called
+    public void run() throws IOException {
+        try{
+            while(running){
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while(keys.hasNext()){
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if(!key.isValid()){
+                        continue;
+                    }
+                    if(key.isAcceptable()){
+                        accept();
+                    }else{
+                        serve(key);
+                    }
+                }
+            }
+        }finally {
+            close();
+        }
+    }
+
+    public void stop(){
+        running = false;
+        if(selector != null){
+            selector.wakeup();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if(channel == null){
+            return;
+        }
+        channel.configureBlocking(false);
+        TerminalSession session = new TerminalSession(channel, parkingService);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ, session);
+        logger.info("Gate terminal connected from " + channel.getRemoteAddress());
+        flush(key, session);
+    }
+
+    private void serve(SelectionKey key){
+        TerminalSession session = (TerminalSession) key.attachment();
+        try{
+            if(key.isReadable()){
+                session.onReadable();
+                if(session.isShutdownRequested()){
+                    running = false;
+                }
+            }
+            flush(key, session);
+        }catch(IOException e){
+            logger.error("Gate terminal connection lost", e);
+            closeSession(key);
+        }
+    }
+
+    private void flush(SelectionKey key, TerminalSession session) throws IOException {
+        //most of the time the socket takes the whole answer at once, write interest is only kept for the rest
+        boolean written = session.onWritable();
+        if(written && session.isClosing()){
+            closeSession(key);
+        }else if(written){
+            key.interestOps(SelectionKey.OP_READ);
+        }else{
+            key.interestOps(session.isClosing() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void closeSession(SelectionKey key){
+        key.cancel();
+        try{
+            key.channel().close();
+        }catch(IOException e){
+            logger.error("Error closing gate terminal connection", e);
+        }
+    }
+
+    private void close(){
+        for(SelectionKey key : selector.keys()){
+            Object attachment = key.attachment();
+            if(attachment instanceof TerminalSession){
+                try{
+                    //last answers, such as the shutdown message, without waiting for slow terminals
+                    ((TerminalSession) attachment).onWritable();
+                }catch(IOException e){
+                    logger.error("Error writing to gate terminal", e);
+                }
+            }
+            closeSession(key);
+        }
+        try{
+            selector.close();
+        }catch(IOException e){
+            logger.error("Error closing terminal selector", e);
+        }
+    }
+}
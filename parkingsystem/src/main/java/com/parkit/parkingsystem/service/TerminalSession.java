@@ -0,0 +1,158 @@
+package com.parkit.parkingsystem.service;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import com.parkit.parkingsystem.util.InputReaderUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+
+public class TerminalSession {
+
+    private static final Logger logger = LogManager.getLogger("TerminalSession");
+
+    private enum Step {
+        MENU,
+        VEHICLE_TYPE,
+        ENTERING_VEHICLE_REG_NUMBER,
+        EXITING_VEHICLE_REG_NUMBER
+    }
+
+    private final ByteChannel channel;
+    private final ParkingService parkingService;
+    //output of this terminal only, written to the channel when it is ready instead of through System.out
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(output, false);
+    private final InputReaderUtil inputReaderUtil;
+    private ByteBuffer pendingOutput = ByteBuffer.allocate(0);
+    private Step step = Step.MENU;
+    //spot found for the vehicle type while its registration number is asked
+    private ParkingSpot parkingSpot;
+    private boolean closing = false;
+    private boolean shutdownRequested = false;
+
+    public TerminalSession(ByteChannel channel, ParkingService parkingService){
+        this.channel = channel;
+        this.parkingService = parkingService;
+        this.inputReaderUtil = new InputReaderUtil(channel, out);
+        out.println("Welcome to Parking System!");
+        InteractiveShell.loadMenu(out);
+    }
+
+    public ByteChannel getChannel(){
+        return channel;
+    }
+
+    //handles every complete line received so far, a partial line waits in the reader for the next read event
+    public void onReadable() throws IOException {
+        while(!closing && inputReaderUtil.hasLine()){
+            handleLine();
+        }
+        if(inputReaderUtil.isEndOfInput()){
+            closing = true;
+        }
+    }
+
+    //returns true once all the output has been written
+    public boolean onWritable() throws IOException {
+        if(!pendingOutput.hasRemaining() && output.size() > 0){
+            pendingOutput = ByteBuffer.wrap(output.toByteArray());
+            output.reset();
+        }
+        channel.write(pendingOutput);
+        return !hasPendingOutput();
+    }
+
+    public boolean hasPendingOutput(){
+        return pendingOutput.hasRemaining() || output.size() > 0;
+    }
+
+    public boolean isClosing(){
+        return closing;
+    }
+
+    public boolean isShutdownRequested(){
+        return shutdownRequested;
+    }
+
+    private void handleLine() throws IOException {
+        switch(step){
+            case MENU: {
+                handleMenuOption(inputReaderUtil.readSelection());
+                return;
+            }
+            case VEHICLE_TYPE: {
+                step = Step.MENU;
+                try{
+                    ParkingType parkingType = parkingService.getVehicleType(inputReaderUtil.readSelection(), out);
+                    parkingSpot = parkingService.getNextParkingNumberIfAvailable(parkingType);
+                    if(parkingSpot != null){
+                        parkingService.printVehicleRegNumberPrompt(out);
+                        step = Step.ENTERING_VEHICLE_REG_NUMBER;
+                        return;
+                    }
+                }catch(IllegalArgumentException ie){
+                    logger.error("Error parsing user input for type of vehicle", ie);
+                }
+                break;
+            }
+            case ENTERING_VEHICLE_REG_NUMBER: {
+                step = Step.MENU;
+                String vehicleRegNumber = readVehicleRegistrationNumber();
+                if(vehicleRegNumber != null){
+                    parkingService.parkVehicle(parkingSpot, vehicleRegNumber, out);
+                }
+                parkingSpot = null;
+                break;
+            }
+            case EXITING_VEHICLE_REG_NUMBER: {
+                step = Step.MENU;
+                String vehicleRegNumber = readVehicleRegistrationNumber();
+                if(vehicleRegNumber != null){
+                    parkingService.exitVehicle(vehicleRegNumber, out);
+                }
+                break;
+            }
+        }
+        InteractiveShell.loadMenu(out);
+    }
+
+    private void handleMenuOption(int option){
+        switch(option){
+            case 1: {
+                parkingService.printVehicleTypeMenu(out);
+                step = Step.VEHICLE_TYPE;
+                break;
+            }
+            case 2: {
+                parkingService.printVehicleRegNumberPrompt(out);
+                step = Step.EXITING_VEHICLE_REG_NUMBER;
+                break;
+            }
+            case 3: {
+                out.println("Exiting from the system!");
+                shutdownRequested = true;
+                closing = true;
+                break;
+            }
+            default: {
+                out.println("Unsupported option. Please enter a number corresponding to the provided menu");
+                InteractiveShell.loadMenu(out);
+            }
+        }
+    }
+
+    private String readVehicleRegistrationNumber(){
+        try{
+            return inputReaderUtil.readVehicleRegistrationNumber();
+        }catch(Exception e){
+            //already reported to the terminal by the reader
+            return null;
+        }
+    }
+}
@@ -3,37 +3,154 @@ package com.parkit.parkingsystem.util;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Scanner;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 public class InputReaderUtil {
 
-    private static Scanner scan = new Scanner(System.in);
     private static final Logger logger = LogManager.getLogger("InputReaderUtil");
 
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_LINE_LENGTH = 256;
+    private static final int MAX_SELECTION_DIGITS = 9;
+
+    private ReadableByteChannel channel;
+    private PrintStream out;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    //reused for every line, kept across reads while a non-blocking channel has only delivered part of it
+    private StringBuilder line = new StringBuilder();
+    private boolean lineReady = false;
+    private boolean lineConsumed = false;
+    private boolean endOfInput = false;
+
+    public InputReaderUtil() {
+        this(Channels.newChannel(System.in), System.out);
+    }
+
+    public InputReaderUtil(ReadableByteChannel channel) {
+        this(channel, System.out);
+    }
+
+    //out receives the input error messages and is flushed before waiting for input
+    public InputReaderUtil(ReadableByteChannel channel, PrintStream out) {
+        this.channel = channel;
+        this.out = out;
+        buffer.flip();
+    }
+
     public int readSelection() {
         try {
-            int input = Integer.parseInt(scan.nextLine());
-            return input;
+            nextLine();
+            return parseSelection();
         }catch(Exception e){
             logger.error("Error while reading user input from Shell", e);
-            System.out.println("Error reading input. Please enter valid number for proceeding further");
+            out.println("Error reading input. Please enter valid number for proceeding further");
             return -1;
         }
     }
 
     public String readVehicleRegistrationNumber() throws Exception {
         try {
-            String vehicleRegNumber= scan.nextLine();
-            if(vehicleRegNumber == null || vehicleRegNumber.trim().length()==0) {
+            nextLine();
+            if(isBlank(line)) {
                 throw new IllegalArgumentException("Invalid input provided");
             }
-            return vehicleRegNumber;
+            return RegistrationNumberUtil.normalize(line);
         }catch(Exception e){
             logger.error("Error while reading user input from Shell", e);
-            System.out.println("Error reading input. Please enter a valid string for vehicle registration number");
+            out.println("Error reading input. Please enter a valid string for vehicle registration number");
             throw e;
         }
     }
 
+    //reads what the channel has without waiting on a non-blocking channel, true once a whole line is there to be read
+    public boolean hasLine() throws IOException {
+        if(lineConsumed){
+            line.setLength(0);
+            lineConsumed = false;
+        }
+        while(!lineReady){
+            while(buffer.hasRemaining()){
+                int c = buffer.get() & 0xFF;
+                if(c == '\n'){
+                    lineReady = true;
+                    return true;
+                }
+                if(c != '\r' && line.length() < MAX_LINE_LENGTH){
+                    line.append((char) c);
+                }
+            }
+            if(endOfInput){
+                //last line without end of line
+                lineReady = line.length() > 0;
+                return lineReady;
+            }
+            if(fill() == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEndOfInput() {
+        return endOfInput && !buffer.hasRemaining() && !lineReady;
+    }
+
+    private void nextLine() throws IOException {
+        if(!hasLine()){
+            if(endOfInput){
+                throw new EOFException("End of input");
+            }
+            throw new IOException("No complete line available");
+        }
+        lineReady = false;
+        lineConsumed = true;
+    }
+
+    private int fill() throws IOException {
+        out.flush();
+        buffer.clear();
+        int count = channel.read(buffer);
+        buffer.flip();
+        if(count < 0){
+            endOfInput = true;
+        }
+        return count;
+    }
+
+    private int parseSelection() {
+        int value = 0;
+        int digits = 0;
+        boolean invalid = false;
+        //digits are accumulated straight from the line characters, no String is created for it
+        for(int i = 0; i < line.length(); i++){
+            char c = line.charAt(i);
+            if(c == ' ' || c == '\t'){
+                continue;
+            }
+            if(c >= '0' && c <= '9' && digits < MAX_SELECTION_DIGITS){
+                value = value * 10 + (c - '0');
+                digits++;
+            }else{
+                invalid = true;
+            }
+        }
+        if(invalid || digits == 0){
+            throw new NumberFormatException("Invalid selection");
+        }
+        return value;
+    }
 
+    private static boolean isBlank(CharSequence value){
+        for(int i = 0; i < value.length(); i++){
+            if(!Character.isWhitespace(value.charAt(i))){
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,80 @@
+package com.parkit.parkingsystem.util;
+
+public class RegistrationNumberUtil {
+
+    //same as the VEHICLE_REG_NUMBER column size
+    public static final int MAX_LENGTH = 10;
+
+    //0 is never used for a character so that leading '0' characters are kept in the key
+    private static final int RADIX = 37;
+
+    public static String normalize(CharSequence vehicleRegNumber){
+        if(vehicleRegNumber == null){
+            throw new IllegalArgumentException("Vehicle registration number is missing");
+        }
+        StringBuilder normalized = new StringBuilder(MAX_LENGTH);
+        for(int i = 0; i < vehicleRegNumber.length(); i++){
+            char c = vehicleRegNumber.charAt(i);
+            if(isSeparator(c)){
+                continue;
+            }
+            if(code(c) == 0){
+                throw new IllegalArgumentException("Invalid character in vehicle registration number:" + vehicleRegNumber);
+            }
+            normalized.append(Character.toUpperCase(c));
+        }
+        if(normalized.length() == 0 || normalized.length() > MAX_LENGTH){
+            throw new IllegalArgumentException("Invalid vehicle registration number length:" + vehicleRegNumber);
+        }
+        return normalized.toString();
+    }
+
+    public static long toKey(String vehicleRegNumber){
+        long key = 0;
+        int length = 0;
+        for(int i = 0; i < vehicleRegNumber.length(); i++){
+            char c = vehicleRegNumber.charAt(i);
+            if(isSeparator(c)){
+                continue;
+            }
+            int code = code(c);
+            if(code == 0 || ++length > MAX_LENGTH){
+                //slow path only used to build the error message
+                normalize(vehicleRegNumber);
+            }
+            key = key * RADIX + code;
+        }
+        if(length == 0){
+            throw new IllegalArgumentException("Invalid vehicle registration number length:" + vehicleRegNumber);
+        }
+        return key;
+    }
+
+    public static String fromKey(long key){
+        char[] chars = new char[MAX_LENGTH];
+        int start = MAX_LENGTH;
+        while(key > 0){
+            int code = (int) (key % RADIX);
+            chars[--start] = (char) ((code <= 10) ? ('0' + code - 1) : ('A' + code - 11));
+            key /= RADIX;
+        }
+        return new String(chars, start, MAX_LENGTH - start);
+    }
+
+    private static boolean isSeparator(char c){
+        return c == ' ' || c == '-' || c == '.' || c == '\t';
+    }
+
+    private static int code(char c){
+        if(c >= '0' && c <= '9'){
+            return c - '0' + 1;
+        }
+        if(c >= 'A' && c <= 'Z'){
+            return c - 'A' + 11;
+        }
+        if(c >= 'a' && c <= 'z'){
+            return c - 'a' + 11;
+        }
+        return 0;
+    }
+}
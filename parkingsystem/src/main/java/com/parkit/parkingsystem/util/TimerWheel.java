@@ -0,0 +1,155 @@
+package com.parkit.parkingsystem.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    //64^4 ticks, about 31 years with one minute ticks
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    public static final class Timeout {
+        private final long deadlineTick;
+        private final Runnable task;
+        private Timeout previous;
+        private Timeout next;
+        private Slot slot;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+    }
+
+    //doubly linked list so that a timeout is added and cancelled in constant time
+    private static final class Slot {
+        private Timeout head;
+
+        private void add(Timeout timeout){
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if(head != null){
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout timeout){
+            if(timeout.previous != null){
+                timeout.previous.next = timeout.next;
+            }else{
+                head = timeout.next;
+            }
+            if(timeout.next != null){
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.slot = null;
+        }
+
+        private Timeout clear(){
+            Timeout timeouts = head;
+            head = null;
+            return timeouts;
+        }
+    }
+
+    private final long tickMillis;
+    private final Slot[][] wheels = new Slot[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    public TimerWheel(long tickMillis, long startMillis){
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for(int level = 0; level < LEVELS; level++){
+            for(int slot = 0; slot < SLOTS; slot++){
+                wheels[level][slot] = new Slot();
+            }
+        }
+    }
+
+    public synchronized Timeout schedule(long deadlineMillis, Runnable task){
+        //a deadline already passed fires on the next tick
+        Timeout timeout = new Timeout(Math.max(currentTick + 1, deadlineMillis / tickMillis), task);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout timeout){
+        if(timeout == null || timeout.slot == null){
+            return false;
+        }
+        timeout.slot.remove(timeout);
+        size--;
+        return true;
+    }
+
+    public synchronized int size(){
+        return size;
+    }
+
+    public void advanceTo(long nowMillis){
+        //tasks run outside of the lock so that they can schedule new timeouts
+        for(Runnable task : collectExpired(nowMillis / tickMillis)){
+            task.run();
+        }
+    }
+
+    private synchronized List<Runnable> collectExpired(long targetTick){
+        List<Runnable> expired = new ArrayList<>();
+        while(currentTick < targetTick){
+            currentTick++;
+            //when a level wraps, the next slot of the level above is spread over the lower levels
+            int level = 1;
+            while(level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0){
+                level++;
+            }
+            for(int cascaded = level - 1; cascaded >= 1; cascaded--){
+                Timeout timeout = wheels[cascaded][slotIndex(currentTick, cascaded)].clear();
+                while(timeout != null){
+                    Timeout next = timeout.next;
+                    place(timeout);
+                    timeout = next;
+                }
+            }
+            Timeout timeout = wheels[0][slotIndex(currentTick, 0)].clear();
+            while(timeout != null){
+                Timeout next = timeout.next;
+                timeout.slot = null;
+                timeout.previous = null;
+                timeout.next = null;
+                size--;
+                expired.add(timeout.task);
+                timeout = next;
+            }
+        }
+        return expired;
+    }
+
+    private void place(Timeout timeout){
+        long delta = timeout.deadlineTick - currentTick;
+        if(delta >= MAX_TICKS){
+            //beyond the horizon, parked in the farthest slot and placed again when it cascades
+            wheels[LEVELS - 1][slotIndex(currentTick + MAX_TICKS - 1, LEVELS - 1)].add(timeout);
+            return;
+        }
+        long deadlineTick = Math.max(timeout.deadlineTick, currentTick);
+        int level = 0;
+        while(level < LEVELS - 1 && (delta >> (SLOT_BITS * (level + 1))) > 0){
+            level++;
+        }
+        wheels[level][slotIndex(deadlineTick, level)].add(timeout);
+    }
+
+    private static int slotIndex(long tick, int level){
+        return (int) ((tick >> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
@@ -0,0 +1,64 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.util.InputReaderUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputReaderUtilTest {
+
+    private static InputReaderUtil inputReaderFor(String input){
+        return new InputReaderUtil(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void readSelections(){
+        InputReaderUtil inputReaderUtil = inputReaderFor("1\r\n 2 \nabc\n12\n");
+        assertEquals(1, inputReaderUtil.readSelection());
+        assertEquals(2, inputReaderUtil.readSelection());
+        assertEquals(-1, inputReaderUtil.readSelection());
+        assertEquals(12, inputReaderUtil.readSelection());
+        assertFalse(inputReaderUtil.isEndOfInput());
+        assertEquals(-1, inputReaderUtil.readSelection());
+        assertTrue(inputReaderUtil.isEndOfInput());
+    }
+
+    @Test
+    public void readVehicleRegistrationNumbers() throws Exception {
+        InputReaderUtil inputReaderUtil = inputReaderFor("ab-123 cd\n1\nAB123CD");
+        assertEquals("AB123CD", inputReaderUtil.readVehicleRegistrationNumber());
+        assertEquals(1, inputReaderUtil.readSelection());
+        assertEquals("AB123CD", inputReaderUtil.readVehicleRegistrationNumber());
+    }
+
+    @Test
+    public void readBlankVehicleRegistrationNumber(){
+        InputReaderUtil inputReaderUtil = inputReaderFor("   \n");
+        assertThrows(IllegalArgumentException.class, () -> inputReaderUtil.readVehicleRegistrationNumber());
+    }
+
+    @Test
+    public void partialLineWaitsForTheRestOnNonBlockingChannel() throws Exception {
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        InputReaderUtil inputReaderUtil = new InputReaderUtil(pipe.source());
+
+        assertFalse(inputReaderUtil.hasLine());
+        pipe.sink().write(ByteBuffer.wrap("1".getBytes(StandardCharsets.US_ASCII)));
+        assertFalse(inputReaderUtil.hasLine());
+        pipe.sink().write(ByteBuffer.wrap("2\nab".getBytes(StandardCharsets.US_ASCII)));
+        assertTrue(inputReaderUtil.hasLine());
+        assertEquals(12, inputReaderUtil.readSelection());
+        assertFalse(inputReaderUtil.hasLine());
+        pipe.sink().write(ByteBuffer.wrap("123\n".getBytes(StandardCharsets.US_ASCII)));
+        assertTrue(inputReaderUtil.hasLine());
+        assertEquals("AB123", inputReaderUtil.readVehicleRegistrationNumber());
+        assertFalse(inputReaderUtil.isEndOfInput());
+    }
+}
@@ -0,0 +1,43 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.service.OccupancyTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OccupancyTrackerTest {
+
+    private OccupancyTracker occupancyTracker;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        occupancyTracker = new OccupancyTracker();
+    }
+
+    @Test
+    public void averageOccupancyWithUnknownCapacity(){
+        long now = System.currentTimeMillis();
+        assertEquals(-1, occupancyTracker.getAverageOccupancy(ParkingType.CAR, 0, now, now + 1000));
+    }
+
+    @Test
+    public void averageOccupancyWithConstantCounts(){
+        occupancyTracker.setCounts(ParkingType.CAR, 10, 5);
+        long now = System.currentTimeMillis();
+        double entryIntegral = occupancyTracker.getOccupancyIntegral(ParkingType.CAR, now);
+        assertEquals(0.5, occupancyTracker.getAverageOccupancy(ParkingType.CAR, entryIntegral, now, now + (60 * 60 * 1000)), 0.001);
+    }
+
+    @Test
+    public void vehicleEnteredAndExitedUpdateCounts(){
+        occupancyTracker.setCounts(ParkingType.BIKE, 2, 0);
+        occupancyTracker.vehicleEntered(ParkingType.BIKE);
+        occupancyTracker.vehicleEntered(ParkingType.BIKE);
+        assertEquals(1.0, occupancyTracker.getOccupancy(ParkingType.BIKE));
+        occupancyTracker.vehicleExited(ParkingType.BIKE);
+        assertEquals(1, occupancyTracker.getOccupied(ParkingType.BIKE));
+        assertEquals(0, occupancyTracker.getOccupied(ParkingType.CAR));
+    }
+}
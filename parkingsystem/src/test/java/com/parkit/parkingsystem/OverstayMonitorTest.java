@@ -0,0 +1,101 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.model.ParkingAlert;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import com.parkit.parkingsystem.service.OverstayMonitor;
+import com.parkit.parkingsystem.util.RegistrationNumberUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OverstayMonitorTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long START = 1000 * HOUR;
+
+    private OverstayMonitor overstayMonitor;
+    private List<ParkingAlert> alerts;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        overstayMonitor = new OverstayMonitor(24 * HOUR, 72 * HOUR, 60 * 1000L, START);
+        alerts = new ArrayList<>();
+        overstayMonitor.addListener(alerts::add);
+    }
+
+    private ParkingEvent entered(String vehicleRegNumber, long inTimeMillis){
+        return new ParkingEvent(ParkingEvent.Kind.VEHICLE_ENTERED, 1, ParkingType.CAR,
+                RegistrationNumberUtil.toKey(vehicleRegNumber), inTimeMillis, 0);
+    }
+
+    private ParkingEvent exited(String vehicleRegNumber, long outTimeMillis){
+        return new ParkingEvent(ParkingEvent.Kind.VEHICLE_EXITED, 1, ParkingType.CAR,
+                RegistrationNumberUtil.toKey(vehicleRegNumber), outTimeMillis, 150);
+    }
+
+    @Test
+    public void overstayThenAbandoned(){
+        overstayMonitor.onEvent(entered("ABCDEF", START));
+
+        overstayMonitor.advance(START + 23 * HOUR);
+        assertTrue(alerts.isEmpty());
+
+        overstayMonitor.advance(START + 24 * HOUR);
+        assertEquals(1, alerts.size());
+        assertEquals(ParkingAlert.Kind.OVERSTAY, alerts.get(0).getKind());
+        assertEquals("ABCDEF", alerts.get(0).getVehicleRegNumber());
+        assertEquals(1, overstayMonitor.getOverstayAlertCount());
+
+        overstayMonitor.advance(START + 96 * HOUR);
+        assertEquals(2, alerts.size());
+        assertEquals(ParkingAlert.Kind.ABANDONED, alerts.get(1).getKind());
+        assertEquals(1, overstayMonitor.getAbandonedAlertCount());
+        assertEquals(0, overstayMonitor.getWatchedVehicleCount());
+    }
+
+    @Test
+    public void exitBeforeOverstayCancelsAlerts(){
+        overstayMonitor.onEvent(entered("ABCDEF", START));
+        overstayMonitor.onEvent(exited("ABCDEF", START + HOUR));
+
+        overstayMonitor.advance(START + 200 * HOUR);
+
+        assertTrue(alerts.isEmpty());
+        assertEquals(0, overstayMonitor.getWatchedVehicleCount());
+    }
+
+    @Test
+    public void exitDuringGracePeriodCancelsAbandonedAlert(){
+        overstayMonitor.onEvent(entered("ABCDEF", START));
+        overstayMonitor.advance(START + 30 * HOUR);
+        overstayMonitor.onEvent(exited("ABCDEF", START + 30 * HOUR));
+
+        overstayMonitor.advance(START + 200 * HOUR);
+
+        assertEquals(1, alerts.size());
+        assertEquals(0, overstayMonitor.getAbandonedAlertCount());
+    }
+
+    @Test
+    public void restoredVehiclesAreWatchedFromTheirEntryTime(){
+        ParkingLotState state = new ParkingLotState();
+        state.addSpot(1, ParkingType.CAR);
+        state.addSpot(2, ParkingType.CAR);
+        state.apply(entered("ABCDEF", START - 100 * HOUR));
+
+        overstayMonitor.restore(state);
+        assertEquals(1, overstayMonitor.getWatchedVehicleCount());
+
+        overstayMonitor.advance(START + 60 * 1000L);
+        assertEquals(1, alerts.size());
+        overstayMonitor.advance(START + 2 * 60 * 1000L);
+        assertEquals(2, alerts.size());
+        assertEquals(ParkingAlert.Kind.ABANDONED, alerts.get(1).getKind());
+    }
+}
@@ -0,0 +1,127 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.ParkingEventDAO;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingEventDAOTest {
+
+    private Path stateDirectory;
+    private Path eventLogFile;
+
+    @BeforeEach
+    private void setUpPerTest() throws IOException {
+        stateDirectory = Files.createTempDirectory("parking-state");
+        eventLogFile = stateDirectory.resolve("events.log");
+    }
+
+    private ParkingEvent event(long sequence){
+        ParkingEvent event = new ParkingEvent(ParkingEvent.Kind.VEHICLE_ENTERED, (int) sequence, ParkingType.CAR, 42L, 1000L * sequence, 0);
+        event.setSequence(sequence);
+        return event;
+    }
+
+    private void append(long firstSequence, long lastSequence){
+        //a new DAO per batch, as after a restart
+        ParkingEventDAO parkingEventDAO = new ParkingEventDAO(stateDirectory.toString());
+        for(long sequence = firstSequence; sequence <= lastSequence; sequence++){
+            assertTrue(parkingEventDAO.appendEvent(event(sequence)));
+        }
+    }
+
+    private void cutTail(int bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(eventLogFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - bytes);
+        }
+    }
+
+    private void assertSequences(List<ParkingEvent> events, long... sequences){
+        assertEquals(sequences.length, events.size());
+        for(int i = 0; i < sequences.length; i++){
+            assertEquals(sequences[i], events.get(i).getSequence());
+            assertEquals(sequences[i], events.get(i).getParkingNumber());
+        }
+    }
+
+    @Test
+    public void eventsAreReadBack(){
+        append(1, 3);
+
+        assertSequences(new ParkingEventDAO(stateDirectory.toString()).getEvents(1), 2, 3);
+    }
+
+    @Test
+    public void tornTailIsCutOffBeforeNewEvents() throws IOException {
+        append(1, 3);
+        cutTail(5);
+        append(4, 6);
+
+        assertSequences(new ParkingEventDAO(stateDirectory.toString()).getEvents(0), 1, 2, 4, 5, 6);
+    }
+
+    @Test
+    public void tornTailInsideParkingTypeIsCutOffBeforeNewEvents() throws IOException {
+        append(1, 3);
+        cutTail(12);
+        append(4, 6);
+
+        assertSequences(new ParkingEventDAO(stateDirectory.toString()).getEvents(0), 1, 2, 4, 5, 6);
+    }
+
+    @Test
+    public void eventsAfterCorruptRecordAreIgnored() throws IOException {
+        append(1, 3);
+        byte[] log = Files.readAllBytes(eventLogFile);
+        //second byte of the parking number of the second record
+        log[log.length / 2] ^= 0x40;
+        Files.write(eventLogFile, log);
+
+        assertSequences(new ParkingEventDAO(stateDirectory.toString()).getEvents(0), 1);
+    }
+
+    @Test
+    public void recordWithUnknownParkingTypeIsTreatedAsCorrupt() throws IOException {
+        append(1, 1);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeLong(2);
+        out.writeByte(ParkingEvent.Kind.VEHICLE_ENTERED.ordinal());
+        out.writeInt(2);
+        out.writeUTF("TRUCK");
+        out.writeLong(42L);
+        out.writeLong(2000L);
+        out.writeLong(0);
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.toByteArray());
+        try (DataOutputStream log = new DataOutputStream(Files.newOutputStream(eventLogFile, StandardOpenOption.APPEND))) {
+            log.writeInt(payload.size());
+            payload.writeTo(log);
+            log.writeInt((int) checksum.getValue());
+        }
+
+        assertSequences(new ParkingEventDAO(stateDirectory.toString()).getEvents(0), 1);
+    }
+
+    @Test
+    public void logWithUnknownHeaderIsSetAside() throws IOException {
+        Files.write(eventLogFile, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        append(1, 2);
+
+        assertTrue(Files.exists(stateDirectory.resolve("events.log.corrupt")));
+        assertSequences(new ParkingEventDAO(stateDirectory.toString()).getEvents(0), 1, 2);
+    }
+}
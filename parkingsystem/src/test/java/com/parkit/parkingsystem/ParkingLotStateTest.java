@@ -0,0 +1,78 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingLotStateTest {
+
+    private ParkingLotState state;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        state = new ParkingLotState();
+        state.addSpot(1, ParkingType.CAR);
+        state.addSpot(2, ParkingType.CAR);
+        state.addSpot(4, ParkingType.BIKE);
+    }
+
+    @Test
+    public void applyEnteredAndFreedEvents(){
+        state.apply(event(1, ParkingEvent.Kind.VEHICLE_ENTERED, 2, ParkingType.CAR, 42L));
+        assertEquals(1, state.getOccupiedCount(ParkingType.CAR));
+        assertEquals(42L, state.getVehicleKey(2));
+
+        state.apply(event(2, ParkingEvent.Kind.VEHICLE_EXITED, 2, ParkingType.CAR, 42L));
+        assertEquals(1, state.getOccupiedCount(ParkingType.CAR));
+
+        state.apply(event(3, ParkingEvent.Kind.SPOT_FREED, 2, ParkingType.CAR, 0));
+        assertEquals(0, state.getOccupiedCount(ParkingType.CAR));
+        assertEquals(3, state.getLastSequence());
+    }
+
+    @Test
+    public void snapshotRoundTrip() throws Exception {
+        state.apply(event(7, ParkingEvent.Kind.VEHICLE_ENTERED, 4, ParkingType.BIKE, 1234L));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        state.writeSnapshot(new DataOutputStream(bytes));
+
+        ParkingLotState restored = ParkingLotState.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(3, restored.size());
+        assertEquals(7, restored.getLastSequence());
+        assertEquals(2, restored.getSpotCount(ParkingType.CAR));
+        assertEquals(1, restored.getOccupiedCount(ParkingType.BIKE));
+        assertEquals(1234L, restored.getVehicleKey(4));
+    }
+
+    @Test
+    public void reconcileTakesSpotsAndTypesFromTheParkingTable(){
+        state.apply(event(1, ParkingEvent.Kind.VEHICLE_ENTERED, 2, ParkingType.CAR, 42L));
+
+        assertTrue(state.reconcile(Arrays.asList(new ParkingSpot(2, ParkingType.CAR, false),
+                new ParkingSpot(4, ParkingType.CAR, true), new ParkingSpot(5, ParkingType.BIKE, true))));
+
+        assertEquals(3, state.size());
+        assertEquals(2, state.getSpotCount(ParkingType.CAR));
+        assertEquals(1, state.getSpotCount(ParkingType.BIKE));
+        assertEquals(42L, state.getVehicleKey(2));
+        assertFalse(state.reconcile(Arrays.asList(new ParkingSpot(2, ParkingType.CAR, false),
+                new ParkingSpot(4, ParkingType.CAR, true), new ParkingSpot(5, ParkingType.BIKE, true))));
+    }
+
+    private static ParkingEvent event(long sequence, ParkingEvent.Kind kind, int parkingNumber, ParkingType parkingType, long vehicleKey){
+        ParkingEvent event = new ParkingEvent(kind, parkingNumber, parkingType, vehicleKey, System.currentTimeMillis(), 0);
+        event.setSequence(sequence);
+        return event;
+    }
+}
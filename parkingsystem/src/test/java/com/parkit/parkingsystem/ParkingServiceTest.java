@@ -1,11 +1,15 @@
 package com.parkit.parkingsystem;
 
+import com.parkit.parkingsystem.config.DataBaseConfig;
 import com.parkit.parkingsystem.constants.ParkingType;
 import com.parkit.parkingsystem.dao.ParkingSpotDAO;
 import com.parkit.parkingsystem.dao.TicketDAO;
 import com.parkit.parkingsystem.model.ParkingSpot;
 import com.parkit.parkingsystem.model.Ticket;
+import com.parkit.parkingsystem.service.NearestToGateStrategy;
+import com.parkit.parkingsystem.service.OccupancyTracker;
 import com.parkit.parkingsystem.service.ParkingService;
+import com.parkit.parkingsystem.service.SpotAllocationStrategy;
 import com.parkit.parkingsystem.util.InputReaderUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,8 +18,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.SQLException;
 import java.util.Date;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,22 +35,14 @@ public class ParkingServiceTest {
     private static ParkingSpotDAO parkingSpotDAO;
     @Mock
     private static TicketDAO ticketDAO;
+    @Mock
+    private static DataBaseConfig dataBaseConfig;
 
     @BeforeEach
     private void setUpPerTest() {
         try {
             when(inputReaderUtil.readVehicleRegistrationNumber()).thenReturn("ABCDEF");
 
-            ParkingSpot parkingSpot = new ParkingSpot(1, ParkingType.CAR,false);
-            Ticket ticket = new Ticket();
-            ticket.setInTime(new Date(System.currentTimeMillis() - (60*60*1000)));
-            ticket.setParkingSpot(parkingSpot);
-            ticket.setVehicleRegNumber("ABCDEF");
-            when(ticketDAO.getTicket(anyString())).thenReturn(ticket);
-            when(ticketDAO.updateTicket(any(Ticket.class))).thenReturn(true);
-
-            when(parkingSpotDAO.updateParking(any(ParkingSpot.class))).thenReturn(true);
-
             parkingService = new ParkingService(inputReaderUtil, parkingSpotDAO, ticketDAO);
         } catch (Exception e) {
             e.printStackTrace();
@@ -52,10 +50,55 @@ public class ParkingServiceTest {
         }
     }
 
+    private SpotAllocationStrategy freeCarSpots(int... parkingNumbers){
+        SpotAllocationStrategy spotAllocationStrategy = new NearestToGateStrategy();
+        for(int parkingNumber : parkingNumbers){
+            spotAllocationStrategy.addSpot(parkingNumber, ParkingType.CAR, true, 0);
+        }
+        return spotAllocationStrategy;
+    }
+
     @Test
     public void processExitingVehicleTest(){
+        ParkingSpot parkingSpot = new ParkingSpot(1, ParkingType.CAR,false);
+        Ticket ticket = new Ticket();
+        ticket.setInTime(new Date(System.currentTimeMillis() - (60*60*1000)));
+        ticket.setParkingSpot(parkingSpot);
+        ticket.setVehicleRegNumber("ABCDEF");
+        when(ticketDAO.getTicketForUpdate(anyString())).thenReturn(ticket);
+        when(ticketDAO.updateTicket(any(Ticket.class))).thenReturn(true);
+        when(parkingSpotDAO.updateParking(any(ParkingSpot.class))).thenReturn(true);
+
         parkingService.processExitingVehicle();
         verify(parkingSpotDAO, Mockito.times(1)).updateParking(any(ParkingSpot.class));
     }
 
+    @Test
+    public void spotTakenByAnotherGateIsSkipped(){
+        when(inputReaderUtil.readSelection()).thenReturn(1);
+        when(parkingSpotDAO.allocateParking(any(ParkingSpot.class))).thenReturn(0, 1);
+        SpotAllocationStrategy spotAllocationStrategy = freeCarSpots(1, 2, 3);
+
+        new ParkingService(inputReaderUtil, parkingSpotDAO, ticketDAO, new OccupancyTracker(), null, spotAllocationStrategy)
+                .processIncomingVehicle();
+
+        verify(ticketDAO).saveTicket(any(Ticket.class));
+        assertEquals(3, spotAllocationStrategy.selectSpot(ParkingType.CAR));
+    }
+
+    @Test
+    public void spotStaysSelectableWhenAllocationFailsOnDataBaseError() throws Exception {
+        when(inputReaderUtil.readSelection()).thenReturn(1);
+        when(dataBaseConfig.getConnection()).thenThrow(new SQLException("Connection reset"));
+        ParkingSpotDAO failingParkingSpotDAO = new ParkingSpotDAO();
+        failingParkingSpotDAO.dataBaseConfig = dataBaseConfig;
+        SpotAllocationStrategy spotAllocationStrategy = freeCarSpots(1, 2);
+
+        new ParkingService(inputReaderUtil, failingParkingSpotDAO, ticketDAO, new OccupancyTracker(), null, spotAllocationStrategy)
+                .processIncomingVehicle();
+
+        verify(ticketDAO, never()).saveTicket(any(Ticket.class));
+        assertEquals(1, spotAllocationStrategy.selectSpot(ParkingType.CAR));
+    }
+
 }
@@ -0,0 +1,120 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.ParkingEventDAO;
+import com.parkit.parkingsystem.dao.ParkingSpotDAO;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import com.parkit.parkingsystem.service.ParkingStateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ParkingStateServiceTest {
+
+    private ParkingStateService parkingStateService;
+
+    @Mock
+    private ParkingEventDAO parkingEventDAO;
+    @Mock
+    private ParkingSpotDAO parkingSpotDAO;
+    @Mock
+    private TicketDAO ticketDAO;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        parkingStateService = new ParkingStateService(parkingEventDAO, parkingSpotDAO, ticketDAO);
+    }
+
+    private ParkingLotState snapshot(long lastSequence){
+        ParkingLotState snapshot = new ParkingLotState();
+        snapshot.addSpot(1, ParkingType.CAR);
+        snapshot.addSpot(2, ParkingType.CAR);
+        snapshot.setLastSequence(lastSequence);
+        return snapshot;
+    }
+
+    @Test
+    public void snapshotIsRestoredWithoutDataBase(){
+        when(parkingEventDAO.getSnapshot()).thenReturn(snapshot(500));
+        when(parkingEventDAO.getEvents(500)).thenReturn(new ArrayList<>());
+
+        assertNotNull(parkingStateService.restore(false));
+        assertTrue(parkingStateService.isRestored());
+        verifyNoInteractions(parkingSpotDAO, ticketDAO);
+    }
+
+    @Test
+    public void eventsContinueTheSequenceOfTheSnapshot(){
+        when(parkingEventDAO.getSnapshot()).thenReturn(snapshot(500));
+        when(parkingEventDAO.getEvents(500)).thenReturn(new ArrayList<>());
+        parkingStateService.restore(false);
+
+        parkingStateService.vehicleEntered(new ParkingSpot(1, ParkingType.CAR, false), "ABCDEF", System.currentTimeMillis());
+
+        ArgumentCaptor<ParkingEvent> event = ArgumentCaptor.forClass(ParkingEvent.class);
+        verify(parkingEventDAO).appendEvent(event.capture());
+        assertEquals(501, event.getValue().getSequence());
+    }
+
+    @Test
+    public void eventsAreNotLoggedWithoutSnapshotNorDataBase(){
+        when(parkingEventDAO.getSnapshot()).thenReturn(null);
+        when(parkingSpotDAO.getParkingSpots()).thenReturn(new ArrayList<>());
+        when(ticketDAO.getOpenTickets()).thenReturn(new ArrayList<>());
+
+        assertNull(parkingStateService.restore(false));
+        parkingStateService.vehicleEntered(new ParkingSpot(1, ParkingType.CAR, false), "ABCDEF", System.currentTimeMillis());
+
+        assertFalse(parkingStateService.isRestored());
+        verify(parkingEventDAO, never()).appendEvent(any(ParkingEvent.class));
+        verify(parkingEventDAO, never()).saveSnapshot(any(ParkingLotState.class));
+    }
+
+    @Test
+    public void stateIsRebuiltFromDataBaseOnceItIsBack(){
+        when(parkingEventDAO.getSnapshot()).thenReturn(null);
+        List<ParkingSpot> parkingSpots = new ArrayList<>();
+        parkingSpots.add(new ParkingSpot(1, ParkingType.CAR, true));
+        when(parkingSpotDAO.getParkingSpots()).thenReturn(new ArrayList<>(), parkingSpots);
+        when(ticketDAO.getOpenTickets()).thenReturn(new ArrayList<>());
+        parkingStateService.restore(false);
+
+        parkingStateService.vehicleEntered(new ParkingSpot(1, ParkingType.CAR, false), "ABCDEF", System.currentTimeMillis());
+        assertFalse(parkingStateService.isRestored());
+        parkingStateService.vehicleEntered(new ParkingSpot(1, ParkingType.CAR, false), "ABCDEF", System.currentTimeMillis());
+
+        assertTrue(parkingStateService.isRestored());
+        verify(parkingEventDAO).saveSnapshot(any(ParkingLotState.class));
+        verify(parkingEventDAO, never()).appendEvent(any(ParkingEvent.class));
+    }
+
+    @Test
+    public void snapshotTakesSpotsAddedToTheParkingTable(){
+        when(parkingEventDAO.getSnapshot()).thenReturn(snapshot(500));
+        when(parkingEventDAO.getEvents(500)).thenReturn(new ArrayList<>());
+        List<ParkingSpot> parkingSpots = new ArrayList<>();
+        parkingSpots.add(new ParkingSpot(1, ParkingType.CAR, true));
+        parkingSpots.add(new ParkingSpot(2, ParkingType.CAR, true));
+        parkingSpots.add(new ParkingSpot(3, ParkingType.BIKE, true));
+        when(parkingSpotDAO.getParkingSpots()).thenReturn(parkingSpots);
+
+        ParkingLotState state = parkingStateService.restore(true);
+
+        assertEquals(3, state.size());
+        assertEquals(1, state.getSpotCount(ParkingType.BIKE));
+        verify(parkingEventDAO).saveSnapshot(state);
+    }
+}
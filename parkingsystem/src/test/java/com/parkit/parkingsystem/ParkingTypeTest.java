@@ -0,0 +1,26 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingTypeTest {
+
+    @Test
+    public void parkingTypesAreLoadedFromConfiguration(){
+        ParkingType[] parkingTypes = ParkingType.values();
+        assertEquals(ParkingType.count(), parkingTypes.length);
+        for(int i = 0; i < parkingTypes.length; i++){
+            assertEquals(i, parkingTypes[i].ordinal());
+            assertSame(parkingTypes[i], ParkingType.valueOf(parkingTypes[i].name()));
+        }
+        assertSame(ParkingType.CAR, ParkingType.valueOf("CAR"));
+        assertEquals(250, ParkingType.valueOf("EV").getRatePerHour());
+    }
+
+    @Test
+    public void unknownParkingType(){
+        assertThrows(IllegalArgumentException.class, () -> ParkingType.valueOf("TRUCK"));
+    }
+}
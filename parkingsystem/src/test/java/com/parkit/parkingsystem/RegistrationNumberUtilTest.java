@@ -0,0 +1,32 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.util.RegistrationNumberUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistrationNumberUtilTest {
+
+    @Test
+    public void normalizeRemovesSeparatorsAndUpperCases(){
+        assertEquals("AB123CD", RegistrationNumberUtil.normalize(" ab-123.cd "));
+    }
+
+    @Test
+    public void sameVehicleWrittenDifferentlyGivesSameKey(){
+        assertEquals(RegistrationNumberUtil.toKey("AB123"), RegistrationNumberUtil.toKey("ab-123 "));
+    }
+
+    @Test
+    public void keyKeepsLeadingZeros(){
+        assertNotEquals(RegistrationNumberUtil.toKey("A"), RegistrationNumberUtil.toKey("0A"));
+        assertEquals("007ZZ9999Z", RegistrationNumberUtil.fromKey(RegistrationNumberUtil.toKey("007zz9999z")));
+    }
+
+    @Test
+    public void invalidRegistrationNumbers(){
+        assertThrows(IllegalArgumentException.class, () -> RegistrationNumberUtil.toKey(" - "));
+        assertThrows(IllegalArgumentException.class, () -> RegistrationNumberUtil.toKey("ABCDEFGHIJK"));
+        assertThrows(IllegalArgumentException.class, () -> RegistrationNumberUtil.toKey("AB#123"));
+    }
+}
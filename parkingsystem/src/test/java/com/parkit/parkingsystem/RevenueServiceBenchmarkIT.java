@@ -0,0 +1,65 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.model.TicketPrices;
+import com.parkit.parkingsystem.service.RevenueService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevenueServiceBenchmarkIT {
+
+    private static final int TICKETS = Integer.getInteger("parkingsystem.benchmark.tickets", 5000000);
+    private static final int RUNS = Integer.getInteger("parkingsystem.benchmark.runs", 20);
+
+    @Test
+    public void compareRevenueAggregations(){
+        ParkingType[] parkingTypes = ParkingType.values();
+        Random random = new Random(42);
+        //the same tickets in both layouts, a price and a type ordinal per ticket, and prices partitioned by type
+        long[] prices = new long[TICKETS];
+        byte[] types = new byte[TICKETS];
+        TicketPrices ticketPrices = new TicketPrices();
+        for(int i = 0; i < TICKETS; i++){
+            prices[i] = 50 + random.nextInt(5000);
+            types[i] = (byte) random.nextInt(parkingTypes.length);
+            ticketPrices.add(prices[i], parkingTypes[types[i]]);
+        }
+
+        //first run of each aggregation only warms up the JIT
+        for(int run = 0; run < 2; run++){
+            long[] expected = benchmark("per ticket type lookup", () -> totalPerTicket(prices, types), run == 1);
+            long[] totals = benchmark("partitioned by type", () -> RevenueService.totalByParkingType(ticketPrices), run == 1);
+            assertArrayEquals(expected, totals);
+        }
+    }
+
+    private interface Aggregation {
+        long[] totals();
+    }
+
+    private long[] benchmark(String name, Aggregation aggregation, boolean report){
+        long[] totals = null;
+        long start = System.nanoTime();
+        for(int run = 0; run < RUNS; run++){
+            totals = aggregation.totals();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if(report){
+            System.out.println(name + ": " + String.format("%.3f", (double) elapsedNanos / RUNS / TICKETS)
+                    + " ns per ticket over " + TICKETS + " tickets");
+        }
+        return totals;
+    }
+
+    //each price added to the total of its type, the layout the aggregation had before
+    private static long[] totalPerTicket(long[] prices, byte[] types){
+        long[] totals = new long[ParkingType.count()];
+        for(int i = 0; i < prices.length; i++){
+            totals[types[i]] += prices[i];
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,33 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.model.TicketPrices;
+import com.parkit.parkingsystem.service.RevenueService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevenueServiceTest {
+
+    @Test
+    public void totalByParkingType(){
+        TicketPrices ticketPrices = new TicketPrices();
+        for(int i = 0; i < 3000; i++){
+            ticketPrices.add(150, ParkingType.CAR);
+            ticketPrices.add(75, ParkingType.BIKE);
+        }
+        long[] totals = RevenueService.totalByParkingType(ticketPrices);
+        assertEquals(450000, totals[ParkingType.CAR.ordinal()]);
+        assertEquals(225000, totals[ParkingType.BIKE.ordinal()]);
+        assertEquals(6000, ticketPrices.size());
+        assertEquals(450000, RevenueService.total(ticketPrices.getPrices(ParkingType.CAR), ticketPrices.size(ParkingType.CAR)));
+    }
+
+    @Test
+    public void totalOfNoTicket(){
+        long[] totals = RevenueService.totalByParkingType(new TicketPrices());
+        assertEquals(0, totals[ParkingType.CAR.ordinal()]);
+        assertEquals(0, RevenueService.total(new long[0], 0));
+        assertEquals(15, RevenueService.total(new long[]{1, 2, 3, 4, 5, 6}, 5));
+    }
+}
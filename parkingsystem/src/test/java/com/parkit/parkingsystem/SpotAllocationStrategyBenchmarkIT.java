@@ -0,0 +1,65 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.service.FillByZoneStrategy;
+import com.parkit.parkingsystem.service.LeastRecentlyUsedStrategy;
+import com.parkit.parkingsystem.service.NearestToGateStrategy;
+import com.parkit.parkingsystem.service.SpotAllocationStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpotAllocationStrategyBenchmarkIT {
+
+    private static final int PARKING_SPOTS = Integer.getInteger("parkingsystem.benchmark.parkingSpots", 50000);
+    private static final int OPERATIONS = Integer.getInteger("parkingsystem.benchmark.operations", 2000000);
+    private static final double FILL_RATE = 0.9;
+
+    @Test
+    public void compareAllocationStrategies(){
+        //first run of each strategy only warms up the JIT
+        for(int run = 0; run < 2; run++){
+            benchmark("nearest", new NearestToGateStrategy(PARKING_SPOTS / 2), run == 1);
+            benchmark("lru", new LeastRecentlyUsedStrategy(), run == 1);
+            benchmark("zone", new FillByZoneStrategy(), run == 1);
+        }
+    }
+
+    private void benchmark(String name, SpotAllocationStrategy strategy, boolean report){
+        for(int number = 1; number <= PARKING_SPOTS; number++){
+            strategy.addSpot(number, ParkingType.CAR, true, 0);
+        }
+        boolean[] taken = new boolean[PARKING_SPOTS + 1];
+        int[] parked = new int[PARKING_SPOTS];
+        int parkedCount = 0;
+        while(parkedCount < PARKING_SPOTS * FILL_RATE){
+            parked[parkedCount++] = take(strategy, taken);
+        }
+
+        //random vehicle leaves, next one gets a spot from the strategy
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for(int i = 0; i < OPERATIONS; i++){
+            int leaving = random.nextInt(parkedCount);
+            taken[parked[leaving]] = false;
+            strategy.spotFreed(parked[leaving], i);
+            parked[leaving] = take(strategy, taken);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if(report){
+            System.out.println(name + ": " + (elapsedNanos / OPERATIONS) + " ns per exit and entry with "
+                    + PARKING_SPOTS + " spots, " + (int) (FILL_RATE * 100) + "% full");
+        }
+    }
+
+    private static int take(SpotAllocationStrategy strategy, boolean[] taken){
+        int number = strategy.selectSpot(ParkingType.CAR);
+        assertTrue(number > 0);
+        assertFalse(taken[number]);
+        taken[number] = true;
+        strategy.spotTaken(number);
+        return number;
+    }
+}
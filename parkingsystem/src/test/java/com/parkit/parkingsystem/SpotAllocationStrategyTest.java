@@ -0,0 +1,62 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.service.FillByZoneStrategy;
+import com.parkit.parkingsystem.service.LeastRecentlyUsedStrategy;
+import com.parkit.parkingsystem.service.NearestToGateStrategy;
+import com.parkit.parkingsystem.service.SpotAllocationStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpotAllocationStrategyTest {
+
+    private static void addSpots(SpotAllocationStrategy strategy, int count, ParkingType parkingType){
+        for(int number = 1; number <= count; number++){
+            strategy.addSpot(number, parkingType, true, 0);
+        }
+    }
+
+    @Test
+    public void nearestToGateStrategy(){
+        SpotAllocationStrategy strategy = new NearestToGateStrategy(6);
+        addSpots(strategy, 10, ParkingType.CAR);
+        assertEquals(6, strategy.selectSpot(ParkingType.CAR));
+        strategy.spotTaken(6);
+        strategy.spotTaken(5);
+        assertEquals(7, strategy.selectSpot(ParkingType.CAR));
+        strategy.spotFreed(5, 1000);
+        assertEquals(5, strategy.selectSpot(ParkingType.CAR));
+        assertEquals(-1, strategy.selectSpot(ParkingType.BIKE));
+    }
+
+    @Test
+    public void leastRecentlyUsedStrategy(){
+        SpotAllocationStrategy strategy = new LeastRecentlyUsedStrategy();
+        addSpots(strategy, 3, ParkingType.CAR);
+        strategy.spotTaken(1);
+        strategy.spotFreed(1, 1000);
+        assertEquals(2, strategy.selectSpot(ParkingType.CAR));
+        strategy.spotTaken(2);
+        strategy.spotTaken(3);
+        assertEquals(1, strategy.selectSpot(ParkingType.CAR));
+        strategy.spotTaken(1);
+        assertEquals(-1, strategy.selectSpot(ParkingType.CAR));
+    }
+
+    @Test
+    public void fillByZoneStrategy(){
+        SpotAllocationStrategy strategy = new FillByZoneStrategy(5);
+        addSpots(strategy, 15, ParkingType.CAR);
+        //a vehicle leaving zone 2 makes it the fullest zone with a free spot
+        strategy.spotTaken(8);
+        assertEquals(6, strategy.selectSpot(ParkingType.CAR));
+        strategy.spotTaken(6);
+        strategy.spotTaken(7);
+        strategy.spotTaken(9);
+        strategy.spotTaken(10);
+        assertEquals(1, strategy.selectSpot(ParkingType.CAR));
+        strategy.spotFreed(9, 1000);
+        assertEquals(9, strategy.selectSpot(ParkingType.CAR));
+    }
+}
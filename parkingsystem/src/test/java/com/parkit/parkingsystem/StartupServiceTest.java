@@ -0,0 +1,134 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.config.DataBaseConfig;
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.ParkingSpotDAO;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.model.ParkingEvent;
+import com.parkit.parkingsystem.model.ParkingLotState;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import com.parkit.parkingsystem.service.NearestToGateStrategy;
+import com.parkit.parkingsystem.service.OccupancyTracker;
+import com.parkit.parkingsystem.service.ParkingService;
+import com.parkit.parkingsystem.service.ParkingStateService;
+import com.parkit.parkingsystem.service.SpotAllocationStrategy;
+import com.parkit.parkingsystem.service.StartupService;
+import com.parkit.parkingsystem.util.InputReaderUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupServiceTest {
+
+    private OccupancyTracker occupancyTracker;
+    private SpotAllocationStrategy spotAllocationStrategy;
+
+    @Mock
+    private DataBaseConfig dataBaseConfig;
+    @Mock
+    private Connection connection;
+    @Mock
+    private ParkingSpotDAO parkingSpotDAO;
+    @Mock
+    private TicketDAO ticketDAO;
+    @Mock
+    private ParkingStateService parkingStateService;
+    @Mock
+    private InputReaderUtil inputReaderUtil;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        parkingSpotDAO.dataBaseConfig = dataBaseConfig;
+        occupancyTracker = new OccupancyTracker();
+        spotAllocationStrategy = new NearestToGateStrategy();
+    }
+
+    private void dataBaseDown() throws Exception {
+        when(dataBaseConfig.getConnection()).thenThrow(new SQLException("Connection refused"));
+    }
+
+    private void dataBaseUp() throws Exception {
+        when(dataBaseConfig.getConnection()).thenReturn(connection);
+        when(connection.isValid(1)).thenReturn(true);
+    }
+
+    private StartupService startupService(ParkingStateService parkingStateService){
+        return new StartupService(parkingSpotDAO, ticketDAO, occupancyTracker, parkingStateService, spotAllocationStrategy);
+    }
+
+    @Test
+    public void snapshotLoadsOccupancyAndAllocationIndexWithoutDataBase() throws Exception {
+        dataBaseDown();
+        ParkingLotState state = new ParkingLotState();
+        state.addSpot(1, ParkingType.CAR);
+        state.addSpot(2, ParkingType.CAR);
+        state.apply(new ParkingEvent(ParkingEvent.Kind.VEHICLE_ENTERED, 1, ParkingType.CAR, 1234, System.currentTimeMillis(), 0));
+        when(parkingStateService.restore(false)).thenReturn(state);
+
+        assertFalse(startupService(parkingStateService).warmUp());
+
+        assertEquals(2, occupancyTracker.getCapacity(ParkingType.CAR));
+        assertEquals(1, occupancyTracker.getOccupied(ParkingType.CAR));
+        assertEquals(2, spotAllocationStrategy.selectSpot(ParkingType.CAR));
+        verify(parkingSpotDAO, never()).getParkingSpots();
+    }
+
+    @Test
+    public void nothingIsLoadedWithoutSnapshotNorDataBase() throws Exception {
+        dataBaseDown();
+        when(parkingStateService.restore(false)).thenReturn(null);
+
+        assertFalse(startupService(parkingStateService).warmUp());
+
+        assertEquals(0, occupancyTracker.getCapacity(ParkingType.CAR));
+        assertEquals(0, spotAllocationStrategy.size());
+        verify(parkingSpotDAO, never()).getParkingSpots();
+    }
+
+    @Test
+    public void allocationIndexIsLoadedOnceTheDataBaseIsBack() throws Exception {
+        dataBaseDown();
+        when(parkingStateService.restore(false)).thenReturn(null);
+        startupService(parkingStateService).warmUp();
+
+        when(parkingSpotDAO.getParkingSpots()).thenReturn(Arrays.asList(
+                new ParkingSpot(1, ParkingType.CAR, false), new ParkingSpot(2, ParkingType.CAR, true)));
+        when(parkingSpotDAO.allocateParking(any(ParkingSpot.class))).thenReturn(1);
+        when(inputReaderUtil.readSelection()).thenReturn(1);
+        when(inputReaderUtil.readVehicleRegistrationNumber()).thenReturn("ABCDEF");
+        new ParkingService(inputReaderUtil, parkingSpotDAO, ticketDAO, occupancyTracker, parkingStateService, spotAllocationStrategy)
+                .processIncomingVehicle();
+
+        ArgumentCaptor<ParkingSpot> parkingSpot = ArgumentCaptor.forClass(ParkingSpot.class);
+        verify(parkingSpotDAO).allocateParking(parkingSpot.capture());
+        assertEquals(2, parkingSpot.getValue().getId());
+        assertEquals(2, spotAllocationStrategy.size());
+    }
+
+    @Test
+    public void dataBaseLoadsOccupancyAndAllocationIndexWithoutStateService() throws Exception {
+        dataBaseUp();
+        when(parkingSpotDAO.getParkingSpots()).thenReturn(Arrays.asList(new ParkingSpot(1, ParkingType.CAR, false),
+                new ParkingSpot(2, ParkingType.CAR, true), new ParkingSpot(3, ParkingType.CAR, true)));
+
+        assertTrue(startupService(null).warmUp());
+
+        assertEquals(3, occupancyTracker.getCapacity(ParkingType.CAR));
+        assertEquals(1, occupancyTracker.getOccupied(ParkingType.CAR));
+        assertEquals(2, spotAllocationStrategy.selectSpot(ParkingType.CAR));
+        verify(parkingSpotDAO).getParkingSpots();
+        verify(parkingSpotDAO, never()).getParkingSpotCount(any(ParkingType.class));
+        verify(ticketDAO).backfillVehicleKeys();
+    }
+}
@@ -0,0 +1,105 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.dao.ParkingSpotDAO;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.service.ParkingService;
+import com.parkit.parkingsystem.service.TerminalServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TerminalServerTest {
+
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    private TerminalServer terminalServer;
+    private Thread serverThread;
+    private int port;
+
+    @Mock
+    private ParkingSpotDAO parkingSpotDAO;
+    @Mock
+    private TicketDAO ticketDAO;
+
+    @BeforeEach
+    private void setUpPerTest() throws Exception {
+        terminalServer = new TerminalServer(new ParkingService(null, parkingSpotDAO, ticketDAO));
+        port = terminalServer.bind(0);
+        serverThread = new Thread(() -> {
+            try{
+                terminalServer.run();
+            }catch(Exception e){
+                e.printStackTrace();
+            }
+        });
+        serverThread.start();
+    }
+
+    @AfterEach
+    private void tearDown() throws Exception {
+        terminalServer.stop();
+        serverThread.join(TIMEOUT_MILLIS);
+    }
+
+    private Socket connect() throws Exception {
+        Socket terminal = new Socket("localhost", port);
+        terminal.setSoTimeout(TIMEOUT_MILLIS);
+        return terminal;
+    }
+
+    private static void send(Socket terminal, String input) throws Exception {
+        terminal.getOutputStream().write(input.getBytes(StandardCharsets.US_ASCII));
+        terminal.getOutputStream().flush();
+    }
+
+    private static String readUntil(Socket terminal, String expected) throws Exception {
+        StringBuilder received = new StringBuilder();
+        InputStream in = terminal.getInputStream();
+        byte[] bytes = new byte[1024];
+        while(received.indexOf(expected) < 0){
+            int count = in.read(bytes);
+            if(count < 0){
+                break;
+            }
+            received.append(new String(bytes, 0, count, StandardCharsets.US_ASCII));
+        }
+        return received.toString();
+    }
+
+    @Test
+    public void terminalsAreServedIndependently() throws Exception {
+        try(Socket first = connect(); Socket second = connect()){
+            send(first, "2\n");
+            assertTrue(readUntil(first, "registration number").contains("Please type the vehicle registration number"));
+            send(second, "2\nXY");
+            send(second, "Z\n");
+            assertTrue(readUntil(second, "vehicle number:XYZ").contains("No parked vehicle found for vehicle number:XYZ"));
+
+            //the first terminal is still waiting for its registration number
+            send(first, "ABC\n");
+            String firstOutput = readUntil(first, "vehicle number:ABC");
+            assertTrue(firstOutput.contains("No parked vehicle found for vehicle number:ABC"));
+            assertFalse(firstOutput.contains("XYZ"));
+        }
+    }
+
+    @Test
+    public void shutdownFromATerminalStopsTheServer() throws Exception {
+        try(Socket terminal = connect()){
+            send(terminal, "3\n");
+            assertTrue(readUntil(terminal, "Exiting").contains("Exiting from the system!"));
+        }
+        serverThread.join(TIMEOUT_MILLIS);
+        assertFalse(serverThread.isAlive());
+    }
+}
@@ -0,0 +1,95 @@
+package com.parkit.parkingsystem;
+
+import com.parkit.parkingsystem.util.TimerWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    private static final long TICK = 1000;
+
+    private TimerWheel timerWheel;
+    private List<Long> fired;
+
+    @BeforeEach
+    private void setUpPerTest() {
+        timerWheel = new TimerWheel(TICK, 0);
+        fired = new ArrayList<>();
+    }
+
+    private void schedule(long deadline){
+        timerWheel.schedule(deadline, () -> fired.add(deadline));
+    }
+
+    @Test
+    public void timeoutFiresOnItsTick(){
+        schedule(5 * TICK);
+
+        timerWheel.advanceTo(4 * TICK);
+        assertTrue(fired.isEmpty());
+        timerWheel.advanceTo(5 * TICK);
+        assertEquals(1, fired.size());
+        assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    public void timeoutsFireInDeadlineOrderAcrossLevels(){
+        long[] deadlines = {3 * 24 * 3600 * TICK, 70 * TICK, 5000 * TICK, 2 * TICK, 64 * TICK, 4096 * TICK};
+        for(long deadline : deadlines){
+            schedule(deadline);
+        }
+
+        timerWheel.advanceTo(3 * 24 * 3600 * TICK);
+
+        assertEquals(List.of(2 * TICK, 64 * TICK, 70 * TICK, 4096 * TICK, 5000 * TICK, 3 * 24 * 3600 * TICK), fired);
+    }
+
+    @Test
+    public void timeoutsFireOnTimeAcrossLevels(){
+        long deadline = 4097 * TICK + 64 * TICK;
+        schedule(deadline);
+
+        timerWheel.advanceTo(deadline - TICK);
+        assertTrue(fired.isEmpty());
+        timerWheel.advanceTo(deadline);
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotFire(){
+        TimerWheel.Timeout timeout = timerWheel.schedule(100 * TICK, () -> fired.add(100 * TICK));
+
+        assertTrue(timerWheel.cancel(timeout));
+        assertFalse(timerWheel.cancel(timeout));
+        timerWheel.advanceTo(200 * TICK);
+
+        assertTrue(fired.isEmpty());
+        assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    public void pastDeadlineFiresOnNextTick(){
+        timerWheel.advanceTo(10 * TICK);
+        schedule(TICK);
+
+        timerWheel.advanceTo(11 * TICK);
+
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void deadlineBeyondHorizonStillFires(){
+        long deadline = (1L << 25) * TICK;
+        schedule(deadline);
+
+        timerWheel.advanceTo(deadline - TICK);
+        assertTrue(fired.isEmpty());
+        timerWheel.advanceTo(deadline);
+        assertEquals(1, fired.size());
+    }
+}
@@ -0,0 +1,235 @@
+package com.parkit.parkingsystem.integration;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.ParkingSpotDAO;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.integration.config.DataBaseTestConfig;
+import com.parkit.parkingsystem.integration.service.DataBasePrepareService;
+import com.parkit.parkingsystem.model.Ticket;
+import com.parkit.parkingsystem.service.OccupancyTracker;
+import com.parkit.parkingsystem.service.ParkingService;
+import com.parkit.parkingsystem.util.InputReaderUtil;
+import com.parkit.parkingsystem.util.RegistrationNumberUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//run with mvn verify -Dparkingsystem.load.durationSeconds=600 for a soak test
+public class ParkingLoadIT {
+
+    private static final int DURATION_SECONDS = Integer.getInteger("parkingsystem.load.durationSeconds", 10);
+    private static final int GATES = Integer.getInteger("parkingsystem.load.gates", 16);
+    private static final int VEHICLES = Integer.getInteger("parkingsystem.load.vehicles", 2000);
+    private static final int PARKING_SPOTS = Integer.getInteger("parkingsystem.load.parkingSpots", 1000);
+
+    //load test spots are numbered after the ones of schema.sql and removed afterwards
+    private static final int FIRST_PARKING_NUMBER = 1000;
+
+    private static DataBaseTestConfig dataBaseTestConfig = new DataBaseTestConfig();
+    private static ParkingSpotDAO parkingSpotDAO;
+    private static TicketDAO ticketDAO;
+    private static DataBasePrepareService dataBasePrepareService;
+    private static OccupancyTracker occupancyTracker;
+
+    private final ConcurrentHashMap<Integer, Long> spotOwners = new ConcurrentHashMap<>();
+    private final AtomicInteger entries = new AtomicInteger();
+    private final AtomicInteger rejectedEntries = new AtomicInteger();
+    private final AtomicInteger exits = new AtomicInteger();
+    private final AtomicInteger doubleAllocations = new AtomicInteger();
+    private final AtomicInteger unpricedExits = new AtomicInteger();
+
+    @BeforeAll
+    private static void setUp() throws Exception{
+        parkingSpotDAO = new ParkingSpotDAO();
+        parkingSpotDAO.dataBaseConfig = dataBaseTestConfig;
+        ticketDAO = new TicketDAO();
+        ticketDAO.dataBaseConfig = dataBaseTestConfig;
+        dataBasePrepareService = new DataBasePrepareService();
+        dataBasePrepareService.clearDataBaseEntries();
+        dataBasePrepareService.addParkingSpots(FIRST_PARKING_NUMBER, PARKING_SPOTS, new String[]{"CAR", "BIKE"});
+
+        occupancyTracker = new OccupancyTracker();
+        for(ParkingType parkingType : ParkingType.values()){
+            occupancyTracker.setCounts(parkingType, parkingSpotDAO.getParkingSpotCount(parkingType), 0);
+        }
+    }
+
+    @AfterAll
+    private static void tearDown(){
+        dataBasePrepareService.removeParkingSpots(FIRST_PARKING_NUMBER);
+        dataBasePrepareService.clearDataBaseEntries();
+    }
+
+    @Test
+    public void testParkingLotUnderLoad() throws Exception {
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()){
+            pool.resetPeakUsage();
+        }
+        long start = System.nanoTime();
+        long deadline = start + DURATION_SECONDS * 1_000_000_000L;
+
+        ExecutorService executor = Executors.newFixedThreadPool(GATES);
+        List<Future<long[]>> gates = new ArrayList<>();
+        for(int gate = 0; gate < GATES; gate++){
+            final int gateNumber = gate;
+            gates.add(executor.submit(() -> runGate(gateNumber, deadline)));
+        }
+        long[] latencies = new long[0];
+        for(Future<long[]> gate : gates){
+            long[] gateLatencies = gate.get();
+            int length = latencies.length;
+            latencies = Arrays.copyOf(latencies, length + gateLatencies.length);
+            System.arraycopy(gateLatencies, 0, latencies, length, gateLatencies.length);
+        }
+        executor.shutdown();
+        long elapsedNanos = System.nanoTime() - start;
+
+        report(latencies, elapsedNanos);
+
+        assertEquals(0, doubleAllocations.get());
+        assertEquals(0, unpricedExits.get());
+        assertEquals(entries.get(), exits.get());
+        assertTrue(entries.get() > 0);
+        assertEquals(entries.get(), countTickets("select count(*) from ticket"));
+        assertEquals(0, countTickets("select count(*) from ticket where OUT_TIME is null or PRICE is null"));
+        for(ParkingType parkingType : ParkingType.values()){
+            assertEquals(0, occupancyTracker.getOccupied(parkingType));
+            assertEquals(0, parkingSpotDAO.getOccupiedParkingSpotCount(parkingType));
+        }
+    }
+
+    private long[] runGate(int gate, long deadline){
+        GateInput input = new GateInput();
+        ParkingService parkingService = new ParkingService(input, parkingSpotDAO, ticketDAO, occupancyTracker);
+        //vehicles gate, gate + GATES, gate + 2 * GATES... always go through the same gate
+        int vehicleCount = (VEHICLES - gate + GATES - 1) / GATES;
+        if(vehicleCount <= 0){
+            return new long[0];
+        }
+        int[] parkedSpots = new int[vehicleCount];
+        long[] latencies = new long[1024];
+        int operations = 0;
+
+        int vehicle = 0;
+        boolean draining = false;
+        int parkedCount = 0;
+        while(!draining || parkedCount > 0){
+            if(!draining && System.nanoTime() >= deadline){
+                draining = true;
+                continue;
+            }
+            int vehicleId = gate + vehicle * GATES;
+            input.vehicleRegNumber = "LOAD" + vehicleId;
+            input.selection = (vehicleId % 2 == 0) ? 1 : 2;
+
+            long operationStart = System.nanoTime();
+            if(parkedSpots[vehicle] == 0 && !draining){
+                parkingService.processIncomingVehicle();
+                latencies = record(latencies, operations++, System.nanoTime() - operationStart);
+                Ticket ticket = ticketDAO.getTicket(input.vehicleRegNumber);
+                if(ticket != null && ticket.getOutTime() == null){
+                    int spot = ticket.getParkingSpot().getId();
+                    if(spotOwners.putIfAbsent(spot, RegistrationNumberUtil.toKey(input.vehicleRegNumber)) != null){
+                        doubleAllocations.incrementAndGet();
+                    }
+                    parkedSpots[vehicle] = spot;
+                    parkedCount++;
+                    entries.incrementAndGet();
+                }else{
+                    rejectedEntries.incrementAndGet();
+                }
+            }else if(parkedSpots[vehicle] != 0){
+                spotOwners.remove(parkedSpots[vehicle]);
+                parkingService.processExitingVehicle();
+                latencies = record(latencies, operations++, System.nanoTime() - operationStart);
+                Ticket ticket = ticketDAO.getTicket(input.vehicleRegNumber);
+                if(ticket == null || ticket.getOutTime() == null){
+                    unpricedExits.incrementAndGet();
+                }
+                parkedSpots[vehicle] = 0;
+                parkedCount--;
+                exits.incrementAndGet();
+            }
+            vehicle = (vehicle + 1) % vehicleCount;
+        }
+        return Arrays.copyOf(latencies, operations);
+    }
+
+    private static long[] record(long[] latencies, int index, long latencyNanos){
+        if(index == latencies.length){
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        }
+        latencies[index] = latencyNanos;
+        return latencies;
+    }
+
+    private void report(long[] latencies, long elapsedNanos){
+        Arrays.sort(latencies);
+        long peakHeap = 0;
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()){
+            if(pool.getType() == MemoryType.HEAP){
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.println("Load test: " + GATES + " gates, " + VEHICLES + " vehicles, " + PARKING_SPOTS + " spots, " + (elapsedNanos / 1_000_000) + " ms");
+        System.out.println("Entries: " + entries.get() + ", rejected entries: " + rejectedEntries.get() + ", exits: " + exits.get());
+        System.out.println("Throughput: " + (latencies.length * 1_000_000_000L / elapsedNanos) + " operations/s");
+        System.out.println("Latency (ms) p50: " + percentile(latencies, 0.50) + " p95: " + percentile(latencies, 0.95)
+                + " p99: " + percentile(latencies, 0.99) + " max: " + percentile(latencies, 1.0));
+        System.out.println("Peak heap used: " + (peakHeap / (1024 * 1024)) + " MB, heap used now: "
+                + (ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024)) + " MB");
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile){
+        if(sortedLatencies.length == 0){
+            return 0;
+        }
+        int index = Math.max(0, (int) Math.ceil(percentile * sortedLatencies.length) - 1);
+        return sortedLatencies[index] / 1_000_000.0;
+    }
+
+    private int countTickets(String query) throws Exception {
+        Connection con = null;
+        try {
+            con = dataBaseTestConfig.getConnection();
+            ResultSet rs = con.createStatement().executeQuery(query);
+            rs.next();
+            int count = rs.getInt(1);
+            dataBaseTestConfig.closeResultSet(rs);
+            return count;
+        }finally {
+            dataBaseTestConfig.closeConnection(con);
+        }
+    }
+
+    private static class GateInput extends InputReaderUtil {
+        private int selection;
+        private String vehicleRegNumber;
+
+        @Override
+        public int readSelection() {
+            return selection;
+        }
+
+        @Override
+        public String readVehicleRegistrationNumber() {
+            return vehicleRegNumber;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.parkit.parkingsystem.integration;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.ParkingSpotDAO;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.integration.config.DataBaseTestConfig;
+import com.parkit.parkingsystem.integration.service.DataBasePrepareService;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import com.parkit.parkingsystem.model.Ticket;
+import com.parkit.parkingsystem.service.ParkingService;
+import com.parkit.parkingsystem.service.RevenueService;
+import com.parkit.parkingsystem.util.InputReaderUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingIT {
+
+    //the replica database never receives the writes, so a read served by it sees the parking lot empty
+    private static DataBaseTestConfig dataBaseTestConfig = new DataBaseTestConfig("test", "replica");
+    private static ParkingSpotDAO parkingSpotDAO;
+    private static TicketDAO ticketDAO;
+    private static DataBasePrepareService dataBasePrepareService;
+    private static DataBasePrepareService replicaPrepareService;
+
+    @Mock
+    private static InputReaderUtil inputReaderUtil;
+
+    @BeforeAll
+    private static void setUp() throws Exception{
+        parkingSpotDAO = new ParkingSpotDAO();
+        parkingSpotDAO.dataBaseConfig = dataBaseTestConfig;
+        dataBasePrepareService = new DataBasePrepareService(new DataBaseTestConfig("test"));
+        replicaPrepareService = new DataBasePrepareService(new DataBaseTestConfig("replica"));
+    }
+
+    @BeforeEach
+    private void setUpPerTest() throws Exception {
+        dataBasePrepareService.clearDataBaseEntries();
+        replicaPrepareService.clearDataBaseEntries();
+        ticketDAO = new TicketDAO();
+        ticketDAO.dataBaseConfig = dataBaseTestConfig;
+    }
+
+    private void parkVehicle() throws Exception {
+        when(inputReaderUtil.readSelection()).thenReturn(1);
+        when(inputReaderUtil.readVehicleRegistrationNumber()).thenReturn("ABCDEF");
+        new ParkingService(inputReaderUtil, parkingSpotDAO, ticketDAO).processIncomingVehicle();
+    }
+
+    @Test
+    public void vehicleReadsItsOwnTicketFromPrimaryRightAfterWriting() throws Exception {
+        ticketDAO.replicaMaxLagMillis = 60 * 1000;
+        parkVehicle();
+
+        assertNotNull(ticketDAO.getTicket("ABCDEF"));
+    }
+
+    @Test
+    public void ticketIsReadFromReplicaOnceTheLagWindowIsOver() throws Exception {
+        ticketDAO.replicaMaxLagMillis = 0;
+        parkVehicle();
+        Thread.sleep(10);
+
+        assertNull(ticketDAO.getTicket("ABCDEF"));
+    }
+
+    @Test
+    public void ticketWrittenByAnotherProcessIsReadFromReplica() throws Exception {
+        parkVehicle();
+
+        TicketDAO otherTicketDAO = new TicketDAO();
+        otherTicketDAO.dataBaseConfig = dataBaseTestConfig;
+        assertNull(otherTicketDAO.getTicket("ABCDEF"));
+    }
+
+    @Test
+    public void exitReadsTheOpenTicketFromPrimary() throws Exception {
+        ticketDAO.replicaMaxLagMillis = 0;
+        parkVehicle();
+        Thread.sleep(10);
+
+        TicketDAO otherTicketDAO = new TicketDAO();
+        otherTicketDAO.dataBaseConfig = dataBaseTestConfig;
+        new ParkingService(inputReaderUtil, parkingSpotDAO, otherTicketDAO).processExitingVehicle();
+
+        TicketDAO primaryTicketDAO = new TicketDAO();
+        primaryTicketDAO.dataBaseConfig = new DataBaseTestConfig("test");
+        assertNull(primaryTicketDAO.getTicketForUpdate("ABCDEF"));
+        assertNotNull(primaryTicketDAO.getTicket("ABCDEF").getOutTime());
+        assertEquals(1, parkingSpotDAO.getNextAvailableSlot(ParkingType.CAR));
+    }
+
+    @Test
+    public void occupancyIsReadFromReplica() throws Exception {
+        parkVehicle();
+
+        ParkingSpotDAO primaryParkingSpotDAO = new ParkingSpotDAO();
+        primaryParkingSpotDAO.dataBaseConfig = new DataBaseTestConfig("test");
+        assertEquals(1, primaryParkingSpotDAO.getOccupiedParkingSpotCount(ParkingType.CAR));
+        assertEquals(0, parkingSpotDAO.getOccupiedParkingSpotCount(ParkingType.CAR));
+    }
+
+    @Test
+    public void revenueIsReadFromReplica(){
+        Ticket ticket = new Ticket();
+        ticket.setParkingSpot(new ParkingSpot(1, ParkingType.CAR, false));
+        ticket.setVehicleRegNumber("ABCDEF");
+        ticket.setPrice(150);
+        ticket.setInTime(new Date(System.currentTimeMillis() - (60 * 60 * 1000)));
+        ticket.setOutTime(new Date());
+        ticketDAO.saveTicket(ticket);
+
+        TicketDAO primaryTicketDAO = new TicketDAO();
+        primaryTicketDAO.dataBaseConfig = new DataBaseTestConfig("test");
+        assertEquals(150, new RevenueService(primaryTicketDAO).getDailyRevenueByParkingType(LocalDate.now())[ParkingType.CAR.ordinal()]);
+        assertEquals(0, new RevenueService(ticketDAO).getDailyRevenueByParkingType(LocalDate.now())[ParkingType.CAR.ordinal()]);
+    }
+
+    @Test
+    public void spotAllocationReadsFromPrimary() throws Exception {
+        parkVehicle();
+
+        assertEquals(2, parkingSpotDAO.getNextAvailableSlot(ParkingType.CAR));
+    }
+}
@@ -0,0 +1,81 @@
+package com.parkit.parkingsystem.integration;
+
+import com.parkit.parkingsystem.constants.ParkingType;
+import com.parkit.parkingsystem.dao.TicketDAO;
+import com.parkit.parkingsystem.integration.config.DataBaseTestConfig;
+import com.parkit.parkingsystem.integration.service.DataBasePrepareService;
+import com.parkit.parkingsystem.model.ParkingSpot;
+import com.parkit.parkingsystem.model.Ticket;
+import com.parkit.parkingsystem.service.RevenueService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevenueServiceIT {
+
+    private static final LocalDate DAY = LocalDate.of(2020, 1, 15);
+    private static final ParkingType EV = ParkingType.valueOf("EV");
+
+    private static DataBaseTestConfig dataBaseTestConfig = new DataBaseTestConfig();
+    private static TicketDAO ticketDAO;
+    private static DataBasePrepareService dataBasePrepareService;
+
+    @BeforeAll
+    private static void setUp() throws Exception{
+        ticketDAO = new TicketDAO();
+        ticketDAO.dataBaseConfig = dataBaseTestConfig;
+        dataBasePrepareService = new DataBasePrepareService();
+    }
+
+    @BeforeEach
+    private void setUpPerTest() throws Exception {
+        dataBasePrepareService.clearDataBaseEntries();
+    }
+
+    private static void saveTicket(int parkingNumber, ParkingType parkingType, long price, LocalDateTime outTime){
+        Ticket ticket = new Ticket();
+        ticket.setParkingSpot(new ParkingSpot(parkingNumber, parkingType, false));
+        ticket.setVehicleRegNumber("AB" + parkingNumber + price);
+        ticket.setPrice(price);
+        ticket.setInTime(new Date(Timestamp.valueOf(DAY.minusDays(1).atStartOfDay()).getTime()));
+        ticket.setOutTime(outTime == null ? null : new Date(Timestamp.valueOf(outTime).getTime()));
+        ticketDAO.saveTicket(ticket);
+    }
+
+    @Test
+    public void dailyRevenueByParkingType(){
+        saveTicket(1, ParkingType.CAR, 150, DAY.atStartOfDay());
+        saveTicket(2, ParkingType.CAR, 375, DAY.atTime(23, 59));
+        saveTicket(4, ParkingType.BIKE, 100, DAY.atTime(12, 0));
+        saveTicket(6, EV, 425, DAY.atTime(18, 30));
+        //closed the day before, the day after, or not closed yet
+        saveTicket(3, ParkingType.CAR, 1000, DAY.minusDays(1).atTime(23, 59));
+        saveTicket(3, ParkingType.CAR, 2000, DAY.plusDays(1).atStartOfDay());
+        saveTicket(5, ParkingType.BIKE, 0, null);
+
+        long[] totals = new RevenueService(ticketDAO).getDailyRevenueByParkingType(DAY);
+
+        assertEquals(ParkingType.count(), totals.length);
+        assertEquals(525, totals[ParkingType.CAR.ordinal()]);
+        assertEquals(100, totals[ParkingType.BIKE.ordinal()]);
+        assertEquals(425, totals[EV.ordinal()]);
+        assertEquals(1050, Arrays.stream(totals).sum());
+    }
+
+    @Test
+    public void dailyRevenueOfADayWithoutTicket(){
+        saveTicket(1, ParkingType.CAR, 150, DAY.atTime(10, 0));
+
+        long[] totals = new RevenueService(ticketDAO).getDailyRevenueByParkingType(DAY.plusDays(2));
+
+        assertArrayEquals(new long[ParkingType.count()], totals);
+    }
+}
@@ -5,16 +5,62 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
+import java.util.HashSet;
+import java.util.Set;
 
 public class DataBaseTestConfig extends DataBaseConfig {
 
     private static final Logger logger = LogManager.getLogger("DataBaseTestConfig");
 
+    //embedded databases in MySQL compatibility mode, kept open until the JVM exits
+    private static final String URL = "jdbc:h2:mem:%s;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final Set<String> initializedDataBases = new HashSet<>();
+
+    private String dataBaseName;
+    private String replicaDataBaseName;
+
+    public DataBaseTestConfig(){
+        this("test", null);
+    }
+
+    public DataBaseTestConfig(String dataBaseName){
+        this(dataBaseName, null);
+    }
+
+    //a second embedded database stands for the replica, nothing is replicated to it
+    public DataBaseTestConfig(String dataBaseName, String replicaDataBaseName){
+        this.dataBaseName = dataBaseName;
+        this.replicaDataBaseName = replicaDataBaseName;
+    }
+
     public Connection getConnection() throws ClassNotFoundException, SQLException {
         logger.info("Create DB connection");
-        Class.forName("com.mysql.cj.jdbc.Driver");
-        return DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/test?serverTimezone=UTC&enabledTLSProtocols=TLSv1.2","root","codio");
+        return connect(dataBaseName);
+    }
+
+    public Connection getReadConnection() throws ClassNotFoundException, SQLException {
+        if(replicaDataBaseName == null){
+            return getConnection();
+        }
+        logger.info("Create replica DB connection");
+        return connect(replicaDataBaseName);
+    }
+
+    private static Connection connect(String dataBaseName) throws ClassNotFoundException, SQLException {
+        Class.forName("org.h2.Driver");
+        Connection con = DriverManager.getConnection(String.format(URL, dataBaseName), "sa", "");
+        initDataBase(dataBaseName, con);
+        return con;
+    }
+
+    private static synchronized void initDataBase(String dataBaseName, Connection con) throws SQLException {
+        if(initializedDataBases.add(dataBaseName)){
+            logger.info("Create embedded DB schema");
+            Statement statement = con.createStatement();
+            statement.execute("runscript from 'classpath:/schema.sql'");
+            statement.close();
+        }
     }
 
     public void closeConnection(Connection con){
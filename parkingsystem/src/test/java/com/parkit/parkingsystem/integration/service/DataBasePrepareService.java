@@ -3,10 +3,20 @@ package com.parkit.parkingsystem.integration.service;
 import com.parkit.parkingsystem.integration.config.DataBaseTestConfig;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
 
 public class DataBasePrepareService {
 
-    DataBaseTestConfig dataBaseTestConfig = new DataBaseTestConfig();
+    DataBaseTestConfig dataBaseTestConfig;
+
+    public DataBasePrepareService(){
+        this(new DataBaseTestConfig());
+    }
+
+    public DataBasePrepareService(DataBaseTestConfig dataBaseTestConfig){
+        this.dataBaseTestConfig = dataBaseTestConfig;
+    }
 
     public void clearDataBaseEntries(){
         Connection connection = null;
@@ -26,5 +36,59 @@ public class DataBasePrepareService {
         }
     }
 
+    public void addParkingSpots(int firstNumber, int count, String[] types){
+        Connection connection = null;
+        try{
+            connection = dataBaseTestConfig.getConnection();
+            PreparedStatement ps = connection.prepareStatement("insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(?,true,?)");
+            for(int i = 0; i < count; i++){
+                ps.setInt(1, firstNumber + i);
+                ps.setString(2, types[i % types.length]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            dataBaseTestConfig.closePreparedStatement(ps);
+        }catch(Exception e){
+            e.printStackTrace();
+        }finally {
+            dataBaseTestConfig.closeConnection(connection);
+        }
+    }
+
+    //moves the entry of the vehicle back in time, so that its stay has a known duration
+    public void setTicketInTime(String vehicleRegNumber, Timestamp inTime){
+        Connection connection = null;
+        try{
+            connection = dataBaseTestConfig.getConnection();
+            PreparedStatement ps = connection.prepareStatement("update ticket set IN_TIME = ? where VEHICLE_REG_NUMBER = ?");
+            ps.setTimestamp(1, inTime);
+            ps.setString(2, vehicleRegNumber);
+            ps.execute();
+            dataBaseTestConfig.closePreparedStatement(ps);
+        }catch(Exception e){
+            e.printStackTrace();
+        }finally {
+            dataBaseTestConfig.closeConnection(connection);
+        }
+    }
+
+    public void removeParkingSpots(int firstNumber){
+        Connection connection = null;
+        try{
+            connection = dataBaseTestConfig.getConnection();
+
+            //clear ticket entries first, they reference the parking spots
+            connection.prepareStatement("truncate table ticket").execute();
+
+            PreparedStatement ps = connection.prepareStatement("delete from parking where PARKING_NUMBER >= ?");
+            ps.setInt(1, firstNumber);
+            ps.execute();
+            dataBaseTestConfig.closePreparedStatement(ps);
+        }catch(Exception e){
+            e.printStackTrace();
+        }finally {
+            dataBaseTestConfig.closeConnection(connection);
+        }
+    }
 
 }
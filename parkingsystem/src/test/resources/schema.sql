@@ -0,0 +1,29 @@
+/* Embedded TEST DB, same schema as the test database of resources/Data.sql */
+create table parking(
+PARKING_NUMBER int PRIMARY KEY,
+AVAILABLE bool NOT NULL,
+TYPE varchar(10) NOT NULL
+);
+
+create table ticket(
+ ID int PRIMARY KEY AUTO_INCREMENT,
+ PARKING_NUMBER int NOT NULL,
+ VEHICLE_REG_NUMBER varchar(10) NOT NULL,
+ VEHICLE_KEY bigint NOT NULL,
+ PRICE bigint,
+ IN_TIME DATETIME NOT NULL,
+ OUT_TIME DATETIME,
+ FOREIGN KEY (PARKING_NUMBER)
+ REFERENCES parking(PARKING_NUMBER));
+
+create index TICKET_VEHICLE_KEY on ticket(VEHICLE_KEY, ID);
+
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(1,true,'CAR');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(2,true,'CAR');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(3,true,'CAR');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(4,true,'BIKE');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(5,true,'BIKE');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(6,true,'EV');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(7,true,'EV');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(8,true,'MOTORCYCLE');
+insert into parking(PARKING_NUMBER,AVAILABLE,TYPE) values(9,true,'VAN');